@@ -1,9 +1,41 @@
 package com.reliaquest.api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.service.Bulkhead;
+import com.reliaquest.api.service.CircuitBreaker;
+import com.reliaquest.api.service.EmployeeLookupService;
+import com.reliaquest.api.service.EmployeeRosterCache;
+import com.reliaquest.api.service.UpstreamGuard;
+import com.reliaquest.api.service.WriteBehindQueue;
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.TimedJacksonHttpMessageConverter;
+import com.reliaquest.api.web.UpstreamRateLimitInterceptor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -12,11 +44,219 @@ public class ApiConfiguration {
     @Value("${mock.server.url:http://localhost:8112}")
     private String mockServerUrl;
 
+    /*
+     * The auto-configured Jackson converter is swapped for one that times response decoding, so upstream latency can be
+     * told apart from deserialization cost. With api.upstream.wire-format=smile a read-only timed Smile converter is
+     * put ahead of it, so Smile is asked for before JSON while request bodies stay JSON; json leaves Smile out
+     * entirely.
+     */
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
-        return builder.rootUri(mockServerUrl)
-                .setConnectTimeout(java.time.Duration.ofSeconds(5))
-                .setReadTimeout(java.time.Duration.ofSeconds(10))
+    public RestTemplate restTemplate(
+            RestTemplateBuilder builder,
+            CloseableHttpClient mockServerHttpClient,
+            UpstreamRateLimitInterceptor upstreamRateLimitInterceptor,
+            ObjectMapper objectMapper,
+            Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder,
+            MeterRegistry meterRegistry,
+            @Value("${api.upstream.wire-format:smile}") String wireFormat) {
+        final boolean smile = switch (wireFormat) {
+            case "smile" -> true;
+            case "json" -> false;
+            default -> throw new IllegalArgumentException("Unknown api.upstream.wire-format: " + wireFormat);
+        };
+        final var restTemplate = builder.rootUri(mockServerUrl)
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(mockServerHttpClient))
+                .additionalInterceptors(upstreamRateLimitInterceptor)
                 .build();
+        final var converters = restTemplate.getMessageConverters();
+        converters.removeIf(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter);
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                converters.set(i, TimedJacksonHttpMessageConverter.json(objectMapper, meterRegistry));
+                if (smile) {
+                    final var smileMapper = jacksonObjectMapperBuilder.factory(new SmileFactory()).build();
+                    converters.add(i, TimedJacksonHttpMessageConverter.smile(smileMapper, meterRegistry));
+                }
+                break;
+            }
+        }
+        return restTemplate;
+    }
+
+    /*
+     * Connections to the mock server are pooled and kept alive between requests. Connect and read timeouts live on the
+     * pool's connection config rather than on the RestTemplateBuilder so they apply to every pooled connection.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager mockServerConnectionManager(
+            @Value("${api.http.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${api.http.read-timeout:10s}") Duration readTimeout,
+            @Value("${api.http.pool.max-total:50}") int maxTotal,
+            @Value("${api.http.pool.max-per-route:50}") int maxPerRoute,
+            @Value("${api.http.pool.time-to-live:5m}") Duration timeToLive,
+            @Value("${api.http.pool.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(timeToLive.toMillis()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity.toMillis()))
+                        .build())
+                .build();
+    }
+
+    /*
+     * Content compression is on by default in HttpClient 5: requests advertise gzip/deflate and responses are
+     * decompressed transparently, which pairs with server.compression on the mock server.
+     */
+    @Bean
+    public CloseableHttpClient mockServerHttpClient(
+            PoolingHttpClientConnectionManager mockServerConnectionManager,
+            @Value("${api.http.pool.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+            @Value("${api.http.pool.idle-eviction:30s}") Duration idleEviction) {
+        return HttpClients.custom()
+                .setConnectionManager(mockServerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectionRequestTimeout.toMillis()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction.toMillis()))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public MeterBinder employeeRosterMetrics(EmployeeRosterCache employeeRosterCache) {
+        return registry -> {
+            Gauge.builder("employee.roster.size", employeeRosterCache, EmployeeRosterCache::getCachedSize)
+                    .description("Employees in the cached roster snapshot")
+                    .register(registry);
+            Gauge.builder("employee.roster.age", employeeRosterCache, EmployeeRosterCache::getSnapshotAgeSeconds)
+                    .description("Time since the cached roster snapshot was fetched")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    /*
+     * The breaker state is exported both as a one-hot gauge per state and as transition counters, so alerts can fire
+     * on the circuit being open as well as on it flapping.
+     */
+    @Bean
+    public MeterBinder upstreamGuardMetrics(UpstreamGuard upstreamGuard) {
+        final var circuitBreaker = upstreamGuard.getCircuitBreaker();
+        return registry -> {
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                final var tag = state.name().toLowerCase(Locale.ROOT);
+                Gauge.builder("employee.upstream.circuit.state", circuitBreaker, cb -> cb.getState() == state ? 1 : 0)
+                        .description("Mock server circuit breaker state, 1 for the current state")
+                        .tag("state", tag)
+                        .register(registry);
+                FunctionCounter.builder(
+                                "employee.upstream.circuit.transitions",
+                                circuitBreaker,
+                                cb -> cb.getTransitionCount(state))
+                        .description("Mock server circuit breaker transitions, by the state entered")
+                        .tag("to", tag)
+                        .register(registry);
+            }
+            FunctionCounter.builder(
+                            "employee.upstream.circuit.rejected", circuitBreaker, CircuitBreaker::getRejectedCount)
+                    .description("Upstream calls rejected by the open circuit breaker")
+                    .register(registry);
+            for (Bulkhead bulkhead : List.of(upstreamGuard.getReadBulkhead(), upstreamGuard.getWriteBulkhead())) {
+                Gauge.builder("employee.upstream.bulkhead.available", bulkhead, Bulkhead::getAvailable)
+                        .description("Free slots for concurrent upstream calls")
+                        .tag("kind", bulkhead.getName())
+                        .register(registry);
+                FunctionCounter.builder("employee.upstream.bulkhead.rejected", bulkhead, Bulkhead::getRejectedCount)
+                        .description("Upstream calls rejected because the bulkhead was full")
+                        .tag("kind", bulkhead.getName())
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "api.mode", havingValue = "blocking", matchIfMissing = true)
+    public MeterBinder employeeLookupMetrics(EmployeeLookupService employeeLookupService) {
+        return registry -> {
+            FunctionCounter.builder(
+                            "employee.lookup.ids", employeeLookupService, EmployeeLookupService::getCacheHitCount)
+                    .description("Distinct ids resolved by bulk lookups, by where they were found")
+                    .tag("source", "cache")
+                    .register(registry);
+            FunctionCounter.builder(
+                            "employee.lookup.ids", employeeLookupService, EmployeeLookupService::getUpstreamFetchCount)
+                    .description("Distinct ids resolved by bulk lookups, by where they were found")
+                    .tag("source", "upstream")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "api.create.write-behind.enabled", havingValue = "true")
+    public MeterBinder writeBehindQueueMetrics(WriteBehindQueue writeBehindQueue) {
+        return registry -> Gauge.builder(
+                        "employee.create.queue.pending", writeBehindQueue, WriteBehindQueue::getPendingCount)
+                .description("Creates accepted in write-behind mode that the mock server has not answered yet")
+                .register(registry);
+    }
+
+    @Bean
+    public MeterBinder mockServerConnectionPoolMetrics(PoolingHttpClientConnectionManager mockServerConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(mockServerConnectionManager, "mock-server");
+    }
+
+    /*
+     * Defaults start from the smallest budget the mock server hands out (5 requests) and let the limiter learn the rest
+     * from the 429s it observes. The limiter is shared by the blocking and reactive clients.
+     */
+    @Bean
+    public AdaptiveRateLimiter upstreamRateLimiter(
+            @Value("${api.upstream.rate-limit.initial-burst:5}") int initialBurst,
+            @Value("${api.upstream.rate-limit.initial-refill-per-second:1.0}") double initialRefillPerSecond,
+            @Value("${api.upstream.rate-limit.max-burst:100}") int maxBurst,
+            @Value("${api.upstream.rate-limit.min-cooldown:1s}") Duration minCooldown,
+            @Value("${api.upstream.rate-limit.max-cooldown:90s}") Duration maxCooldown) {
+        return new AdaptiveRateLimiter(initialBurst, initialRefillPerSecond, maxBurst, minCooldown, maxCooldown);
+    }
+
+    @Bean
+    public UpstreamRateLimitInterceptor upstreamRateLimitInterceptor(
+            AdaptiveRateLimiter upstreamRateLimiter,
+            @Value("${api.upstream.rate-limit.max-queue-wait:2s}") Duration maxQueueWait,
+            @Value("${api.upstream.rate-limit.max-retries:2}") int maxRetries,
+            @Value("${api.upstream.rate-limit.backoff-base:200ms}") Duration backoffBase,
+            @Value("${api.upstream.rate-limit.backoff-max:2s}") Duration backoffMax) {
+        return new UpstreamRateLimitInterceptor(upstreamRateLimiter, maxQueueWait, maxRetries, backoffBase, backoffMax);
+    }
+
+    @Bean
+    public MeterBinder upstreamRateLimitMetrics(AdaptiveRateLimiter upstreamRateLimiter) {
+        return registry -> {
+            FunctionCounter.builder(
+                            "employee.upstream.throttled", upstreamRateLimiter, AdaptiveRateLimiter::getThrottledCount)
+                    .description("Upstream responses rejected with 429 Too Many Requests")
+                    .register(registry);
+            FunctionCounter.builder(
+                            "employee.upstream.retried", upstreamRateLimiter, AdaptiveRateLimiter::getRetriedCount)
+                    .description("Upstream requests retried after being throttled")
+                    .register(registry);
+            FunctionCounter.builder("employee.upstream.shed", upstreamRateLimiter, AdaptiveRateLimiter::getShedCount)
+                    .description("Upstream requests shed by the client-side limiter without being sent")
+                    .register(registry);
+            Gauge.builder("employee.upstream.limiter.burst", upstreamRateLimiter, AdaptiveRateLimiter::getBurst)
+                    .description("Learned upstream request burst budget")
+                    .register(registry);
+            Gauge.builder(
+                            "employee.upstream.limiter.refill",
+                            upstreamRateLimiter,
+                            AdaptiveRateLimiter::getRefillPerSecond)
+                    .description("Learned upstream request refill rate")
+                    .baseUnit("requests/s")
+                    .register(registry);
+        };
     }
 }
@@ -0,0 +1,71 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.web.AdaptiveRateLimiter;
+import com.reliaquest.api.web.ReactiveUpstreamRateLimitFilter;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/*
+ * Wiring for api.mode=reactive: a non-blocking WebClient on Reactor Netty whose event loop holds in-flight upstream
+ * calls instead of parking servlet threads in RestTemplate.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.mode", havingValue = "reactive")
+public class ReactiveApiConfiguration {
+
+    @Value("${mock.server.url:http://localhost:8112}")
+    private String mockServerUrl;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider mockServerConnectionProvider(
+            @Value("${api.http.pool.max-total:50}") int maxConnections,
+            @Value("${api.http.pool.pending-acquire-max-count:10000}") int pendingAcquireMaxCount,
+            @Value("${api.http.pool.connection-request-timeout:2s}") Duration pendingAcquireTimeout,
+            @Value("${api.http.pool.idle-eviction:30s}") Duration maxIdleTime,
+            @Value("${api.http.pool.time-to-live:5m}") Duration maxLifeTime) {
+        return ConnectionProvider.builder("mock-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactiveUpstreamRateLimitFilter reactiveUpstreamRateLimitFilter(
+            AdaptiveRateLimiter upstreamRateLimiter,
+            @Value("${api.upstream.rate-limit.max-queue-wait:2s}") Duration maxQueueWait,
+            @Value("${api.upstream.rate-limit.max-retries:2}") int maxRetries,
+            @Value("${api.upstream.rate-limit.backoff-base:200ms}") Duration backoffBase,
+            @Value("${api.upstream.rate-limit.backoff-max:2s}") Duration backoffMax) {
+        return new ReactiveUpstreamRateLimitFilter(
+                upstreamRateLimiter, maxQueueWait, maxRetries, backoffBase, backoffMax);
+    }
+
+    @Bean
+    public WebClient mockServerWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider mockServerConnectionProvider,
+            ReactiveUpstreamRateLimitFilter reactiveUpstreamRateLimitFilter,
+            @Value("${api.http.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${api.http.read-timeout:10s}") Duration readTimeout) {
+        final var httpClient = HttpClient.create(mockServerConnectionProvider)
+                .compress(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(connectTimeout.toMillis()))
+                .responseTimeout(readTimeout);
+        return builder.baseUrl(mockServerUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(reactiveUpstreamRateLimitFilter)
+                .build();
+    }
+}
@@ -1,39 +1,74 @@
 package com.reliaquest.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
-import com.reliaquest.api.model.DeleteEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeLookupService;
+import com.reliaquest.api.service.EmployeeQueryService;
+import com.reliaquest.api.service.EmployeeRosterCache;
 import com.reliaquest.api.service.EmployeeService;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "api.mode", havingValue = "blocking", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeInput> {
 
+    private static final int TOP_EARNERS_LIMIT = 10;
+
     private final EmployeeService employeeService;
+    private final EmployeeLookupService lookupService;
+    private final EmployeeQueryService queryService;
+    private final EmployeeRosterCache rosterCache;
+    private final ObjectMapper objectMapper;
 
     @Override
     public ResponseEntity<List<Employee>> getAllEmployees() {
-        return ResponseEntity.ok(employeeService.getAllEmployees());
+        return ResponseEntity.ok(rosterCache.getRoster().getEmployees());
+    }
+
+    /*
+     * Same listing as getAllEmployees, selected with Accept: application/x-ndjson and written one employee per line.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        final List<Employee> employees = rosterCache.getRoster().getEmployees();
+        final var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    final var generator = objectMapper.createGenerator(outputStream);
+                    // Lines are separated explicitly below instead of by Jackson's default root separator (a space).
+                    generator.setRootValueSeparator(null);
+                    for (Employee employee : employees) {
+                        writer.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                    }
+                    generator.flush();
+                });
     }
 
     @Override
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
-        return ResponseEntity.ok(employeeService.getAllEmployees().stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(queryService.searchByName(searchString));
     }
 
     @Override
@@ -43,44 +78,71 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
 
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        List<Employee> allEmployees = employeeService.getAllEmployees();
-        int highestSalary = allEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getSalary()))
-                .mapToInt(Employee::getSalary)
-                .max()
-                .orElse(0);
-        return ResponseEntity.ok(highestSalary);
+        return ResponseEntity.ok(queryService.getHighestSalary());
     }
 
     @Override
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        List<String> topTenHighestEarningEmployeeNames = employeeService.getAllEmployees().stream()
-                .filter(employee -> Objects.nonNull(employee.getSalary()) && Objects.nonNull(employee.getName()))
-                .sorted(Comparator.comparing(Employee::getSalary).reversed())
-                .limit(10)
-                .map(Employee::getName)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(topTenHighestEarningEmployeeNames);
+        return ResponseEntity.ok(queryService.getTopEarningNames(TOP_EARNERS_LIMIT));
     }
 
     @Override
     public ResponseEntity<Employee> createEmployee(@RequestBody CreateEmployeeInput input) {
         Employee created = employeeService.create(input);
+        rosterCache.recordCreated(created);
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    /*
+     * One upstream call: the server deletes by id and returns the deleted employee, whose name is the response.
+     */
     @Override
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         try {
-            Employee employeeToDelete = employeeService.getEmployeeById(id);
-            DeleteEmployeeInput deleteInput = new DeleteEmployeeInput();
-            deleteInput.setName(employeeToDelete.getName());
-            return ResponseEntity.ok(employeeService.delete(deleteInput));
-        } catch (RuntimeException e) {
-            if (e.getMessage() != null && e.getMessage().contains("not found")) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found with ID: " + id);
-            }
-            throw e;
+            Employee deleted = employeeService.deleteById(id);
+            rosterCache.recordDeleted(deleted);
+            return ResponseEntity.ok(deleted.getName());
+        } catch (HttpClientErrorException.NotFound e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found with ID: " + id);
         }
     }
+
+    /*
+     * Not part of IEmployeeController: looks up many employees by id in one request. Ids in the roster snapshot are
+     * answered locally and the rest are fetched from the server concurrently. Results are per id, in id order.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<List<BatchItemResult<Employee>>> getEmployeesById(@RequestBody List<String> ids) {
+        return ResponseEntity.ok(lookupService.findAllById(ids));
+    }
+
+    /*
+     * Not part of IEmployeeController: creates many employees with one upstream request per chunk of inputs instead
+     * of one per employee. Results are per input, in input order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(
+            @RequestBody List<CreateEmployeeInput> inputs) {
+        final var results = employeeService.createAll(inputs);
+        rosterCache.recordCreated(succeeded(results));
+        return ResponseEntity.ok(results);
+    }
+
+    /*
+     * Not part of IEmployeeController: deletes employees by id with one upstream request per chunk of ids, instead of
+     * a lookup and a delete per employee. Results hold the deleted employee or an error, in id order.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Employee>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        final var results = employeeService.deleteAllById(ids);
+        rosterCache.recordDeleted(succeeded(results));
+        return ResponseEntity.ok(results);
+    }
+
+    private static List<Employee> succeeded(List<BatchItemResult<Employee>> results) {
+        return results.stream()
+                .filter(result -> result.error() == null)
+                .map(BatchItemResult::data)
+                .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,51 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.exception.TooManyIdsException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Response;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@Slf4j
+@ControllerAdvice
+public class EmployeeControllerAdvice {
+
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(30);
+
+    @ExceptionHandler
+    protected ResponseEntity<Response<?>> handleTooManyIds(TooManyIdsException ex) {
+        log.debug("Rejected web request: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(Response.error(ex.getMessage()));
+    }
+
+    /*
+     * Pass upstream throttling on to our own callers as a 429 with a Retry-After hint, rather than a generic 500.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<Response<?>> handleUpstreamRateLimited(UpstreamRateLimitedException ex) {
+        final var retryAfter = ex.getRetryAfter() != null ? ex.getRetryAfter() : DEFAULT_RETRY_AFTER;
+        final var retryAfterSeconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        log.warn("Rejecting request, upstream is rate limiting for {}s", retryAfterSeconds);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Response.error(ex.getMessage()));
+    }
+
+    /*
+     * Calls the guard turned away without reaching the server: fail fast with a 503 instead of holding the thread.
+     */
+    @ExceptionHandler
+    protected ResponseEntity<Response<?>> handleUpstreamUnavailable(UpstreamUnavailableException ex) {
+        final var retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+        log.warn("Rejecting request, upstream is unavailable for {}s: {}", retryAfterSeconds, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(Response.error(ex.getMessage()));
+    }
+}
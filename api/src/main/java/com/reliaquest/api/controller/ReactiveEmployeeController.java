@@ -0,0 +1,122 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeRankings;
+import com.reliaquest.api.service.QueryMode;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link EmployeeController}, active when {@code api.mode=reactive}.
+ *
+ * @implNote {@link IEmployeeController} fixes synchronous {@link ResponseEntity} return types, so this controller
+ * cannot implement it directly. It mirrors the same routes, inputs and payloads instead, returning {@link Mono} so the
+ * servlet thread is released while the upstream call is in flight.
+ */
+@RestController
+@RequestMapping("/api/v1/employee")
+@ConditionalOnProperty(name = "api.mode", havingValue = "reactive")
+public class ReactiveEmployeeController {
+
+    private static final int TOP_EARNERS_LIMIT = 10;
+
+    private final ReactiveEmployeeService employeeService;
+
+    // Without a roster cache in this mode, local answers download the whole roster for every query.
+    private final QueryMode queryMode;
+
+    public ReactiveEmployeeController(
+            ReactiveEmployeeService employeeService, @Value("${api.query.mode:local}") QueryMode queryMode) {
+        this.employeeService = employeeService;
+        this.queryMode = queryMode;
+    }
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamAllEmployees() {
+        return employeeService.streamAllEmployees();
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        if (queryMode == QueryMode.PUSHDOWN) {
+            return employeeService.searchByName(searchString).map(ResponseEntity::ok);
+        }
+        return employeeService
+                .getAllEmployees()
+                .map(employees -> ResponseEntity.ok(employees.stream()
+                        .filter(employee -> Objects.nonNull(employee.getName())
+                                && employee.getName().toLowerCase().contains(searchString.toLowerCase()))
+                        .collect(Collectors.toList())));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService.getEmployeeById(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        if (queryMode == QueryMode.PUSHDOWN) {
+            return employeeService.getHighestSalary().map(ResponseEntity::ok);
+        }
+        return employeeService
+                .getAllEmployees()
+                .map(employees -> ResponseEntity.ok(EmployeeRankings.highestSalary(employees)));
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        if (queryMode == QueryMode.PUSHDOWN) {
+            return employeeService
+                    .getTopEarners(TOP_EARNERS_LIMIT)
+                    .map(employees -> ResponseEntity.ok(employees.stream()
+                            .map(Employee::getName)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList())));
+        }
+        return employeeService
+                .getAllEmployees()
+                .map(employees -> ResponseEntity.ok(EmployeeRankings.topEarningNames(employees, TOP_EARNERS_LIMIT)));
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody CreateEmployeeInput input) {
+        return employeeService
+                .create(input)
+                .map(created -> ResponseEntity.status(HttpStatus.CREATED).body(created));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService
+                .deleteById(id)
+                .map(deleted -> ResponseEntity.ok(deleted.getName()))
+                .onErrorResume(
+                        WebClientResponseException.NotFound.class,
+                        e -> Mono.just(
+                                ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found with ID: " + id)));
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.QueuedCreate;
+import com.reliaquest.api.service.WriteBehindQueue;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Write-behind creates, active when {@code api.create.write-behind.enabled=true} in either {@code api.mode}.
+ *
+ * <p>A create is validated, written to the durable {@link WriteBehindQueue} and acknowledged with {@code 202
+ * Accepted} straight away, instead of holding the caller for the upstream call. Its state can be polled at the
+ * {@code Location} returned with it until it is {@code CREATED} or {@code FAILED}.
+ */
+@RestController
+@RequestMapping("/api/v1/employee/async")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "api.create.write-behind.enabled", havingValue = "true")
+public class WriteBehindController {
+
+    private final WriteBehindQueue writeBehindQueue;
+
+    @PostMapping()
+    public ResponseEntity<QueuedCreate> createEmployee(@Valid @RequestBody CreateEmployeeInput input) {
+        final var queued = writeBehindQueue.enqueue(input);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{id}")
+                        .buildAndExpand(queued.id())
+                        .toUri())
+                .body(queued);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<QueuedCreate> getCreateStatus(@PathVariable String id) {
+        return writeBehindQueue
+                .getStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
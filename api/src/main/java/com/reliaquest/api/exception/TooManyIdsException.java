@@ -0,0 +1,11 @@
+package com.reliaquest.api.exception;
+
+/**
+ * Raised when a single request names more employee ids than the API accepts at once.
+ */
+public class TooManyIdsException extends RuntimeException {
+
+    public TooManyIdsException(int maxIds) {
+        super("at most " + maxIds + " ids per lookup");
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Raised when a call to the mock server is rejected for rate limiting, either by the server itself (429) or by the
+ * client-side limiter shedding the call before it was sent.
+ */
+@Getter
+public class UpstreamRateLimitedException extends RuntimeException {
+
+    public static final String DEFAULT_MESSAGE = "Server rate limit exceeded. Please try again later.";
+
+    /**
+     * Best estimate of how long callers should wait before trying again.
+     */
+    private final Duration retryAfter;
+
+    public UpstreamRateLimitedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public UpstreamRateLimitedException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+}
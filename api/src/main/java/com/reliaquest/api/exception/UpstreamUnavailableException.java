@@ -0,0 +1,22 @@
+package com.reliaquest.api.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/**
+ * Raised when a call to the mock server is rejected without being sent: its circuit breaker is open, or the bulkhead
+ * for that kind of call is full.
+ */
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+
+    /**
+     * Best estimate of how long callers should wait before trying again.
+     */
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * State of a create accepted in write-behind mode. It is {@code PENDING} until the mock server has answered, then
+ * {@code CREATED} with the resulting {@code employee}, or {@code FAILED} with an {@code error}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record QueuedCreate(String id, Status status, Employee employee, String error) {
+
+    public enum Status {
+        PENDING,
+        CREATED,
+        FAILED
+    }
+
+    public static QueuedCreate pending(String id) {
+        return new QueuedCreate(id, Status.PENDING, null, null);
+    }
+
+    public static QueuedCreate created(String id, Employee employee) {
+        return new QueuedCreate(id, Status.CREATED, employee, null);
+    }
+
+    public static QueuedCreate failed(String id, String error) {
+        return new QueuedCreate(id, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Caps how many calls of one kind may be in flight to the mock server at once. A caller waits at most
+ * {@code maxWait} for a free slot and is rejected after that, so a slow dependency ties up a bounded number of
+ * request threads instead of all of them.
+ */
+public class Bulkhead {
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final int maxConcurrent;
+
+    @Getter
+    private final Duration maxWait;
+
+    private final Semaphore permits;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    public Bulkhead(@NonNull String name, int maxConcurrent, @NonNull Duration maxWait) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Bulkhead " + name + " must allow at least one concurrent call");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a slot, waiting at most {@code wait}. Each {@code true} must be followed by {@link #release()}.
+     */
+    public boolean tryAcquire(@NonNull Duration wait) {
+        try {
+            if (permits.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getAvailable() {
+        return permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
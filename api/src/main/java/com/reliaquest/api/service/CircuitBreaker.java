@@ -0,0 +1,207 @@
+package com.reliaquest.api.service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker for calls to the mock server.
+ *
+ * <p>While {@code CLOSED} the breaker remembers the outcome of the last {@code windowSize} calls. Once at least
+ * {@code minimumCalls} are recorded and the share of failed or slow ones reaches {@code failureRateThreshold}, it
+ * opens and rejects calls without sending them. After {@code openDuration} it goes {@code HALF_OPEN} and lets
+ * {@code halfOpenCalls} trial calls through: if all of them succeed it closes with a fresh window, and the first
+ * failure reopens it.
+ *
+ * <p>Callers ask for permission with {@link #tryAcquirePermission()} and then report the call with
+ * {@link #onResult}, or hand the permission back with {@link #releasePermission()} if the call never ran.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration slowCallThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoTime;
+
+    private final Map<State, AtomicLong> transitionCounts = new EnumMap<>(State.class);
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    // Ring buffer of the last outcomes while closed: true for a failed or slow call.
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private long openUntilNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            @NonNull Duration slowCallThreshold,
+            @NonNull Duration openDuration,
+            int halfOpenCalls) {
+        this(
+                windowSize,
+                minimumCalls,
+                failureRateThreshold,
+                slowCallThreshold,
+                openDuration,
+                halfOpenCalls,
+                System::nanoTime);
+    }
+
+    CircuitBreaker(
+            int windowSize,
+            int minimumCalls,
+            double failureRateThreshold,
+            Duration slowCallThreshold,
+            Duration openDuration,
+            int halfOpenCalls,
+            LongSupplier nanoTime) {
+        if (windowSize < 1
+                || minimumCalls < 1
+                || minimumCalls > windowSize
+                || failureRateThreshold <= 0
+                || failureRateThreshold > 1
+                || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Circuit breaker requires 1 <= minimumCalls <= windowSize, "
+                    + "0 < failureRateThreshold <= 1 and at least one half-open call");
+        }
+        this.window = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallThreshold = slowCallThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoTime = nanoTime;
+        for (State each : State.values()) {
+            transitionCounts.put(each, new AtomicLong());
+        }
+    }
+
+    /**
+     * Returns whether a call may be sent now. Each {@code true} must be followed by {@link #onResult} or
+     * {@link #releasePermission()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoTime.getAsLong() - openUntilNanos < 0) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Hands back a permission whose call was never sent.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits = Math.min(halfOpenCalls, halfOpenPermits + 1);
+        }
+    }
+
+    /**
+     * Records a permitted call that took {@code elapsed}. A call slower than the slow-call threshold counts as failed
+     * even if it succeeded.
+     */
+    public synchronized void onResult(@NonNull Duration elapsed, boolean failed) {
+        final boolean bad = failed || elapsed.compareTo(slowCallThreshold) > 0;
+        switch (state) {
+            case CLOSED -> {
+                if (windowCalls == window.length) {
+                    windowFailures -= window[windowNext] ? 1 : 0;
+                } else {
+                    windowCalls++;
+                }
+                window[windowNext] = bad;
+                windowFailures += bad ? 1 : 0;
+                windowNext = (windowNext + 1) % window.length;
+                if (windowCalls >= minimumCalls && windowFailures >= failureRateThreshold * windowCalls) {
+                    open();
+                }
+            }
+            case HALF_OPEN -> {
+                if (bad) {
+                    open();
+                } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                    close();
+                }
+            }
+            // Calls admitted before the breaker opened finish while it is open; their outcome no longer matters.
+            case OPEN -> {}
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * How long until the breaker lets trial calls through, or zero when it is not open.
+     */
+    public synchronized Duration getRetryAfter() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openUntilNanos - nanoTime.getAsLong()));
+    }
+
+    public long getTransitionCount(@NonNull State to) {
+        return transitionCounts.get(to).get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private void open() {
+        openUntilNanos = nanoTime.getAsLong() + openDurationNanos;
+        transitionTo(State.OPEN);
+    }
+
+    private void close() {
+        windowNext = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+        transitionTo(State.CLOSED);
+    }
+
+    private void transitionTo(State to) {
+        if (to == State.OPEN) {
+            log.warn("Mock server circuit breaker {} -> {}", state, to);
+        } else {
+            log.info("Mock server circuit breaker {} -> {}", state, to);
+        }
+        state = to;
+        transitionCounts.get(to).incrementAndGet();
+    }
+}
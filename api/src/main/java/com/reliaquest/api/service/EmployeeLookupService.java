@@ -0,0 +1,135 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.TooManyIdsException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Resolves many employee ids in one request. Ids found in the roster snapshot are answered locally; the misses are
+ * fetched from the mock server concurrently, at most {@code parallelism} at a time, so a bulk lookup costs roughly one
+ * upstream round trip instead of one per id.
+ *
+ * <p>Each fetch is an ordinary {@link EmployeeService#getEmployeeById} call, so it still takes a permit from the
+ * upstream rate limiter, passes the {@link UpstreamGuard} and is coalesced with concurrent fetches of the same id.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "api.mode", havingValue = "blocking", matchIfMissing = true)
+public class EmployeeLookupService {
+
+    private final EmployeeService employeeService;
+    private final EmployeeRosterCache rosterCache;
+    private final int maxIds;
+    private final ExecutorService executor;
+
+    private final AtomicLong cacheHitCount = new AtomicLong();
+    private final AtomicLong upstreamFetchCount = new AtomicLong();
+
+    @Autowired
+    public EmployeeLookupService(
+            EmployeeService employeeService,
+            EmployeeRosterCache rosterCache,
+            @Value("${api.lookup.parallelism:8}") int parallelism,
+            @Value("${api.lookup.max-ids:1000}") int maxIds) {
+        this(employeeService, rosterCache, maxIds, newLookupExecutor(parallelism));
+    }
+
+    EmployeeLookupService(
+            EmployeeService employeeService, EmployeeRosterCache rosterCache, int maxIds, ExecutorService executor) {
+        if (maxIds < 1) {
+            throw new IllegalArgumentException("api.lookup.max-ids must be positive");
+        }
+        this.employeeService = employeeService;
+        this.rosterCache = rosterCache;
+        this.maxIds = maxIds;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns one result per id, in input order, holding the employee or an error. Ids that are not UUIDs, unknown
+     * ids and failed fetches get an error result without failing the others; repeated ids are fetched once.
+     *
+     * @throws TooManyIdsException if more than {@code max-ids} ids are given
+     */
+    public List<BatchItemResult<Employee>> findAllById(@NonNull List<String> ids) {
+        if (ids.size() > maxIds) {
+            throw new TooManyIdsException(maxIds);
+        }
+        final Map<String, CompletableFuture<BatchItemResult<Employee>>> lookups = new LinkedHashMap<>();
+        for (String id : ids) {
+            lookups.computeIfAbsent(id, this::lookup);
+        }
+        final List<BatchItemResult<Employee>> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            results.add(lookups.get(id).join());
+        }
+        return results;
+    }
+
+    public long getCacheHitCount() {
+        return cacheHitCount.get();
+    }
+
+    public long getUpstreamFetchCount() {
+        return upstreamFetchCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<BatchItemResult<Employee>> lookup(String id) {
+        final var uuid = EmployeeService.parseUuid(id);
+        if (uuid == null) {
+            return CompletableFuture.completedFuture(BatchItemResult.failed("Invalid employee id: " + id));
+        }
+        final var cached = rosterCache.findCached(uuid);
+        if (cached.isPresent()) {
+            cacheHitCount.incrementAndGet();
+            return CompletableFuture.completedFuture(BatchItemResult.succeeded(cached.get()));
+        }
+        upstreamFetchCount.incrementAndGet();
+        return CompletableFuture.supplyAsync(
+                        () -> BatchItemResult.succeeded(employeeService.getEmployeeById(id)), executor)
+                .exceptionally(e -> failed(id, e instanceof CompletionException ? e.getCause() : e));
+    }
+
+    private static BatchItemResult<Employee> failed(String id, Throwable error) {
+        if (error instanceof HttpClientErrorException.NotFound) {
+            return BatchItemResult.failed("Employee not found with ID: " + id);
+        }
+        log.warn("Failed to look up employee {}: {}", id, error.getMessage());
+        return BatchItemResult.failed(error.getMessage());
+    }
+
+    private static ExecutorService newLookupExecutor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("api.lookup.parallelism must be positive");
+        }
+        final var threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, runnable -> {
+            final var thread = new Thread(runnable, "employee-lookup-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
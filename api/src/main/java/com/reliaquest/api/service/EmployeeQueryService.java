@@ -0,0 +1,63 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Answers the name search, highest salary and top earners queries according to {@code api.query.mode}.
+ *
+ * <p>{@link QueryMode#LOCAL} reads the {@link EmployeeRosterCache} snapshot: no upstream call per query, and stale
+ * answers while the server is unavailable, but the whole roster is downloaded on every refresh.
+ * {@link QueryMode#PUSHDOWN} sends each query to the mock server, which filters and ranks the roster itself, so only
+ * the result crosses the wire; a query fails when its upstream call does.
+ */
+@Service
+@ConditionalOnProperty(name = "api.mode", havingValue = "blocking", matchIfMissing = true)
+public class EmployeeQueryService {
+
+    private final EmployeeService employeeService;
+    private final EmployeeRosterCache rosterCache;
+    private final QueryMode queryMode;
+
+    public EmployeeQueryService(
+            EmployeeService employeeService,
+            EmployeeRosterCache rosterCache,
+            @Value("${api.query.mode:local}") QueryMode queryMode) {
+        this.employeeService = employeeService;
+        this.rosterCache = rosterCache;
+        this.queryMode = queryMode;
+    }
+
+    public List<Employee> searchByName(@NonNull String searchString) {
+        return queryMode == QueryMode.PUSHDOWN
+                ? employeeService.searchByName(searchString)
+                : rosterCache.getRoster().searchByName(searchString);
+    }
+
+    public int getHighestSalary() {
+        return queryMode == QueryMode.PUSHDOWN
+                ? employeeService.getHighestSalary()
+                : rosterCache.getRoster().getHighestSalary();
+    }
+
+    /**
+     * Returns the names of the {@code limit} highest earners, highest salary first. When pushed down, top earners
+     * without a name are dropped from the server's answer rather than replaced, which only matters for unnamed
+     * employees.
+     */
+    public List<String> getTopEarningNames(int limit) {
+        if (queryMode == QueryMode.LOCAL) {
+            return rosterCache.getRoster().getTopEarningNames(limit);
+        }
+        return employeeService.getTopEarners(limit).stream()
+                .map(Employee::getName)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
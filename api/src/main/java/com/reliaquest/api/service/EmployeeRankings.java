@@ -0,0 +1,69 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import lombok.NonNull;
+
+/**
+ * Salary aggregates over a plain list of employees, for callers that have no {@link EmployeeRoster} index to read
+ * them from. Each method makes a single pass; top earners are kept in a heap bounded by the requested count, so the
+ * cost is O(n log k) rather than a full sort.
+ */
+public final class EmployeeRankings {
+
+    private EmployeeRankings() {}
+
+    /**
+     * Returns the highest salary in {@code employees}, or 0 when none has a salary.
+     */
+    public static int highestSalary(@NonNull List<Employee> employees) {
+        int highest = 0;
+        boolean found = false;
+        for (Employee employee : employees) {
+            if (employee.getSalary() != null && (!found || employee.getSalary() > highest)) {
+                highest = employee.getSalary();
+                found = true;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Returns the names of the {@code limit} highest earners, highest first; equal salaries keep list order. Employees
+     * without a name or salary are skipped.
+     */
+    public static List<String> topEarningNames(@NonNull List<Employee> employees, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        // Min-heap on rank: the head is the weakest of the current top, evicted when a better candidate arrives.
+        final Comparator<Ranked> weakestFirst = Comparator.comparingInt(Ranked::salary)
+                .thenComparing(Comparator.comparingInt(Ranked::position).reversed());
+        final var heap = new PriorityQueue<>(limit + 1, weakestFirst);
+        int position = 0;
+        for (Employee employee : employees) {
+            if (employee.getSalary() != null && employee.getName() != null) {
+                final var candidate = new Ranked(employee.getSalary(), position, employee.getName());
+                if (heap.size() < limit) {
+                    heap.add(candidate);
+                } else if (weakestFirst.compare(candidate, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(candidate);
+                }
+            }
+            position++;
+        }
+
+        final List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(Collections.reverseOrder(weakestFirst));
+        final List<String> names = new ArrayList<>(ranked.size());
+        ranked.forEach(entry -> names.add(entry.name()));
+        return names;
+    }
+
+    private record Ranked(int salary, int position, String name) {}
+}
@@ -0,0 +1,261 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+
+/**
+ * In-memory view of the employee roster as last fetched from the mock server. Local writes are applied in place so
+ * reads observe them before the next upstream refresh replaces the whole roster.
+ *
+ * <p>Alongside the id map the roster keeps two indexes, updated on every add and remove:
+ *
+ * <ul>
+ *   <li>employees with a salary in a salary-ordered set, so the highest salary and the top earners are read off its
+ *       head instead of scanning the roster;
+ *   <li>trigram postings over the lowercased names, so a substring search only verifies the employees whose names
+ *       contain every trigram of the search string.
+ * </ul>
+ */
+public class EmployeeRoster {
+
+    private static final int GRAM = 3;
+    private static final Comparator<Entry> HIGHEST_SALARY_FIRST =
+            Comparator.comparing(Entry::salary).reversed().thenComparingLong(Entry::sequence);
+    private static final Comparator<Entry> ROSTER_ORDER = Comparator.comparingLong(Entry::sequence);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Entry> entriesById;
+    private final NavigableSet<Entry> salaryIndex = new TreeSet<>(HIGHEST_SALARY_FIRST);
+    // Each posting list is kept sorted by sequence, i.e. in roster order.
+    private final Map<Long, List<Entry>> namePostings = new HashMap<>();
+
+    private long nextSequence;
+
+    private EmployeeRoster(Map<UUID, Entry> entriesById) {
+        this.entriesById = entriesById;
+    }
+
+    public static EmployeeRoster of(@NonNull Collection<Employee> employees) {
+        final var roster =
+                new EmployeeRoster(new LinkedHashMap<>(Math.max(16, (int) (employees.size() / 0.75f) + 1)));
+        employees.forEach(roster::put);
+        return roster;
+    }
+
+    public List<Employee> getEmployees() {
+        lock.readLock().lock();
+        try {
+            final List<Employee> employees = new ArrayList<>(entriesById.size());
+            entriesById.values().forEach(entry -> employees.add(entry.employee()));
+            return employees;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<Employee> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(entriesById.get(id)).map(Entry::employee);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns, in roster order, the employees whose name contains {@code searchString}, ignoring case.
+     */
+    public List<Employee> searchByName(@NonNull String searchString) {
+        final var needle = searchString.toLowerCase();
+        lock.readLock().lock();
+        try {
+            final List<Employee> matches = new ArrayList<>();
+            for (Entry entry : candidatesFor(needle)) {
+                if (entry.lowerName() != null && entry.lowerName().contains(needle)) {
+                    matches.add(entry.employee());
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest salary on the roster, or 0 when no employee has a salary.
+     */
+    public int getHighestSalary() {
+        lock.readLock().lock();
+        try {
+            return salaryIndex.isEmpty() ? 0 : salaryIndex.first().salary();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the names of the {@code limit} highest earners, highest first; equal salaries keep roster order.
+     * Employees without a name are skipped.
+     */
+    public List<String> getTopEarningNames(int limit) {
+        lock.readLock().lock();
+        try {
+            final List<String> names = new ArrayList<>(Math.min(limit, salaryIndex.size()));
+            for (Entry entry : salaryIndex) {
+                if (names.size() == limit) {
+                    break;
+                }
+                if (entry.employee().getName() != null) {
+                    names.add(entry.employee().getName());
+                }
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(@NonNull Employee employee) {
+        lock.writeLock().lock();
+        try {
+            put(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addAll(@NonNull Collection<Employee> employees) {
+        lock.writeLock().lock();
+        try {
+            employees.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<Employee> remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            final var removed = entriesById.remove(id);
+            if (removed == null) {
+                return Optional.empty();
+            }
+            unindex(removed);
+            return Optional.of(removed.employee());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Callers hold the write lock. A replaced employee keeps its sequence, matching its unchanged position in the
+     * insertion-ordered id map.
+     */
+    private void put(Employee employee) {
+        final var previous = entriesById.get(employee.getId());
+        if (previous != null) {
+            unindex(previous);
+        }
+        final var name = employee.getName();
+        final var entry = new Entry(
+                employee,
+                previous == null ? nextSequence++ : previous.sequence(),
+                employee.getSalary(),
+                name == null ? null : name.toLowerCase());
+        entriesById.put(employee.getId(), entry);
+        if (entry.salary() != null) {
+            salaryIndex.add(entry);
+        }
+        for (long gram : distinctGrams(entry.lowerName())) {
+            final var postings = namePostings.computeIfAbsent(gram, ignored -> new ArrayList<>(4));
+            postings.add(insertionPoint(postings, entry), entry);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.salary() != null) {
+            salaryIndex.remove(entry);
+        }
+        for (long gram : distinctGrams(entry.lowerName())) {
+            final var postings = namePostings.get(gram);
+            final int index = Collections.binarySearch(postings, entry, ROSTER_ORDER);
+            postings.remove(index);
+            if (postings.isEmpty()) {
+                namePostings.remove(gram);
+            }
+        }
+    }
+
+    /*
+     * Shortest posting list among the search string's trigrams, or every entry when the string is too short to have
+     * any. Callers still verify each candidate, since sharing all trigrams does not imply containing the string.
+     */
+    private Collection<Entry> candidatesFor(String needle) {
+        final var grams = distinctGrams(needle);
+        if (grams.length == 0) {
+            return entriesById.values();
+        }
+        List<Entry> shortest = null;
+        for (long gram : grams) {
+            final var postings = namePostings.get(gram);
+            if (postings == null) {
+                return List.of();
+            }
+            if (shortest == null || postings.size() < shortest.size()) {
+                shortest = postings;
+            }
+        }
+        return shortest;
+    }
+
+    private static int insertionPoint(List<Entry> postings, Entry entry) {
+        final int index = Collections.binarySearch(postings, entry, ROSTER_ORDER);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static long[] distinctGrams(String lowerName) {
+        if (lowerName == null || lowerName.length() < GRAM) {
+            return new long[0];
+        }
+        final var grams = new long[lowerName.length() - GRAM + 1];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) lowerName.charAt(i) << 32)
+                    | ((long) lowerName.charAt(i + 1) << 16)
+                    | lowerName.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private record Entry(Employee employee, long sequence, Integer salary, String lowerName) {}
+}
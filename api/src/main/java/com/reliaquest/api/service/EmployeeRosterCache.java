@@ -0,0 +1,348 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds a local snapshot of the employee roster so read endpoints do not cost an upstream round trip each.
+ *
+ * <p>A snapshot is fresh for {@code ttl}. Once it is within {@code refresh-ahead} of expiring, the next read
+ * schedules a background refresh and keeps serving the current snapshot. After expiry the snapshot is still served (and
+ * revalidated in the background) for up to {@code max-stale}; only past that, or on a cold start, does a read block on
+ * the upstream call. Local creates and deletes are written through to the snapshot and mark it for revalidation
+ * without extending its expiry. A roster being fetched when a local write lands may predate it, so the write is
+ * replayed onto that roster before it is installed.
+ *
+ * <p>While the {@link UpstreamGuard} rejects calls to the server, the last snapshot is served however old it is.
+ *
+ * <p>Snapshots are fetched according to {@code api.roster.fetch-mode}; see {@link RosterFetchMode}.
+ */
+@Slf4j
+@Component
+public class EmployeeRosterCache {
+
+    private final EmployeeService employeeService;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration maxStale;
+    private final Duration retryBackoff;
+    private final RosterFetchMode fetchMode;
+    private final int pageSize;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+
+    private final Object loadLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // Orders local writes against snapshot installs, so neither overwrites the other.
+    private final Object writeLock = new Object();
+    // Local writes made while a fetch is in flight, replayed onto the fetched roster; cleared when no fetch is.
+    private final List<Consumer<EmployeeRoster>> racingWrites = new ArrayList<>();
+    private int fetchesInFlight;
+    private long invalidations;
+
+    private volatile Snapshot snapshot;
+    private volatile FullFetch lastFullFetch;
+    private volatile Instant nextRefreshAttempt = Instant.MIN;
+
+    @Autowired
+    public EmployeeRosterCache(
+            EmployeeService employeeService,
+            @Value("${api.roster.cache.enabled:true}") boolean enabled,
+            @Value("${api.roster.cache.ttl:30s}") Duration ttl,
+            @Value("${api.roster.cache.refresh-ahead:5s}") Duration refreshAhead,
+            @Value("${api.roster.cache.max-stale:5m}") Duration maxStale,
+            @Value("${api.roster.cache.retry-backoff:5s}") Duration retryBackoff,
+            @Value("${api.roster.fetch-mode:full}") RosterFetchMode fetchMode,
+            @Value("${api.roster.page-size:500}") int pageSize) {
+        this(
+                employeeService,
+                enabled,
+                ttl,
+                refreshAhead,
+                maxStale,
+                retryBackoff,
+                fetchMode,
+                pageSize,
+                Clock.systemUTC(),
+                Executors.newSingleThreadExecutor(runnable -> {
+                    final var thread = new Thread(runnable, "roster-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    EmployeeRosterCache(
+            EmployeeService employeeService,
+            boolean enabled,
+            Duration ttl,
+            Duration refreshAhead,
+            Duration maxStale,
+            Duration retryBackoff,
+            RosterFetchMode fetchMode,
+            int pageSize,
+            Clock clock,
+            Executor refreshExecutor) {
+        if (refreshAhead.compareTo(ttl) > 0) {
+            throw new IllegalArgumentException("api.roster.cache.refresh-ahead must not exceed api.roster.cache.ttl");
+        }
+        if (fetchMode == RosterFetchMode.PAGED && pageSize < 1) {
+            throw new IllegalArgumentException("api.roster.page-size must be positive when paging");
+        }
+        this.employeeService = employeeService;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.maxStale = maxStale;
+        this.retryBackoff = retryBackoff;
+        this.fetchMode = fetchMode;
+        this.pageSize = pageSize;
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    public EmployeeRoster getRoster() {
+        if (!enabled) {
+            return EmployeeRoster.of(employeeService.getAllEmployees());
+        }
+
+        final var current = snapshot;
+        final var now = clock.instant();
+        if (current == null || now.isAfter(current.expiresAt().plus(maxStale))) {
+            return load();
+        }
+        if (!now.isBefore(current.refreshAt())) {
+            refreshAsync(now);
+        }
+        return current.roster();
+    }
+
+    /**
+     * Looks the employee up in the current snapshot, if it is no older than {@code max-stale}. Never triggers a load or
+     * a refresh, so callers that can fall back to the server pay nothing for a miss.
+     */
+    public Optional<Employee> findCached(@NonNull UUID id) {
+        final var current = snapshot;
+        if (!enabled || current == null || clock.instant().isAfter(current.expiresAt().plus(maxStale))) {
+            return Optional.empty();
+        }
+        return current.roster().findById(id);
+    }
+
+    public void recordCreated(@NonNull Employee employee) {
+        recordWrite(roster -> roster.add(employee));
+    }
+
+    public void recordDeleted(@NonNull Employee employee) {
+        recordWrite(roster -> roster.remove(employee.getId()));
+    }
+
+    public void recordCreated(@NonNull Collection<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        final List<Employee> created = List.copyOf(employees);
+        recordWrite(roster -> roster.addAll(created));
+    }
+
+    public void recordDeleted(@NonNull Collection<Employee> employees) {
+        if (employees.isEmpty()) {
+            return;
+        }
+        final List<Employee> deleted = List.copyOf(employees);
+        recordWrite(roster -> deleted.forEach(employee -> roster.remove(employee.getId())));
+    }
+
+    public void invalidate() {
+        synchronized (writeLock) {
+            invalidations++;
+            snapshot = null;
+        }
+    }
+
+    /**
+     * Size of the current snapshot, or 0 when none is loaded. Never triggers a load, so it is safe to poll.
+     */
+    public int getCachedSize() {
+        final var current = snapshot;
+        return current == null ? 0 : current.roster().size();
+    }
+
+    /**
+     * Seconds since the current snapshot was fetched, or {@code NaN} when none is loaded.
+     */
+    public double getSnapshotAgeSeconds() {
+        final var current = snapshot;
+        return current == null
+                ? Double.NaN
+                : Duration.between(current.loadedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (refreshExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private EmployeeRoster load() {
+        synchronized (loadLock) {
+            final var current = snapshot;
+            if (current != null && !clock.instant().isAfter(current.expiresAt().plus(maxStale))) {
+                return current.roster();
+            }
+            log.debug("Loading employee roster snapshot");
+            final var fetch = beginFetch();
+            try {
+                final var loaded = newSnapshot(fetchRoster());
+                install(loaded, fetch);
+                return loaded.roster();
+            } catch (UpstreamUnavailableException e) {
+                if (current == null) {
+                    throw e;
+                }
+                // The server is known to be down; a stale roster beats failing every read until it recovers.
+                log.warn("Employee server unavailable, serving roster snapshot from {}", current.loadedAt());
+                return current.roster();
+            } finally {
+                endFetch();
+            }
+        }
+    }
+
+    private void refreshAsync(Instant now) {
+        if (now.isBefore(nextRefreshAttempt) || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(this::refresh);
+        } catch (RejectedExecutionException e) {
+            refreshing.set(false);
+            log.warn("Employee roster refresh rejected", e);
+        }
+    }
+
+    private void refresh() {
+        final var fetch = beginFetch();
+        try {
+            final var refreshed = newSnapshot(fetchRoster());
+            if (install(refreshed, fetch)) {
+                log.debug(
+                        "Refreshed employee roster snapshot with {} employees",
+                        refreshed.roster().size());
+            } else {
+                log.debug("Discarding employee roster refresh that raced an invalidation");
+            }
+        } catch (RuntimeException e) {
+            nextRefreshAttempt = clock.instant().plus(retryBackoff);
+            log.warn("Failed to refresh employee roster, serving previous snapshot", e);
+        } finally {
+            endFetch();
+            refreshing.set(false);
+        }
+    }
+
+    private Fetch beginFetch() {
+        synchronized (writeLock) {
+            fetchesInFlight++;
+            return new Fetch(racingWrites.size(), invalidations);
+        }
+    }
+
+    private void endFetch() {
+        synchronized (writeLock) {
+            if (--fetchesInFlight == 0) {
+                racingWrites.clear();
+            }
+        }
+    }
+
+    /*
+     * Replays the local writes made since the fetch began, which the fetched roster may predate, and installs the
+     * snapshot; it is dropped instead if the cache was invalidated meanwhile. Replaying a write the server had
+     * already applied is harmless: an add replaces the employee by id and a remove of a missing id does nothing.
+     */
+    private boolean install(Snapshot fetched, Fetch fetch) {
+        synchronized (writeLock) {
+            if (fetch.invalidations() != invalidations) {
+                return false;
+            }
+            racingWrites
+                    .subList(fetch.firstRacingWrite(), racingWrites.size())
+                    .forEach(write -> write.accept(fetched.roster()));
+            snapshot = fetched;
+            return true;
+        }
+    }
+
+    private EmployeeRoster fetchRoster() {
+        if (fetchMode == RosterFetchMode.FULL) {
+            final var employees = employeeService.getAllEmployees();
+            final var previous = lastFullFetch;
+            if (previous != null && previous.employees() == employees) {
+                // The server answered 304: nothing changed there since this roster was built, and local writes
+                // applied to it since were made on the server too, so it is still current and need not be re-indexed.
+                return previous.roster();
+            }
+            final var roster = EmployeeRoster.of(employees);
+            lastFullFetch = new FullFetch(employees, roster);
+            return roster;
+        }
+        final var roster = EmployeeRoster.of(List.of());
+        if (fetchMode == RosterFetchMode.PAGED) {
+            employeeService.forEachEmployeePage(pageSize, roster::addAll);
+        } else {
+            employeeService.forEachEmployee(roster::add);
+        }
+        return roster;
+    }
+
+    /*
+     * Applies the write to the current snapshot and has the next read revalidate it. The expiry is kept, so max-stale
+     * still bounds how long changes made on the server by others can go unseen under steady local writes.
+     */
+    private void recordWrite(Consumer<EmployeeRoster> write) {
+        synchronized (writeLock) {
+            if (fetchesInFlight > 0) {
+                racingWrites.add(write);
+            }
+            final var current = snapshot;
+            if (current != null) {
+                write.accept(current.roster());
+                snapshot = new Snapshot(current.roster(), current.loadedAt(), clock.instant(), current.expiresAt());
+                nextRefreshAttempt = Instant.MIN;
+            }
+        }
+    }
+
+    private Snapshot newSnapshot(EmployeeRoster roster) {
+        final var loadedAt = clock.instant();
+        return new Snapshot(roster, loadedAt, loadedAt.plus(ttl).minus(refreshAhead), loadedAt.plus(ttl));
+    }
+
+    private record Snapshot(EmployeeRoster roster, Instant loadedAt, Instant refreshAt, Instant expiresAt) {}
+
+    private record Fetch(int firstRacingWrite, long invalidations) {}
+
+    private record FullFetch(List<Employee> employees, EmployeeRoster roster) {}
+}
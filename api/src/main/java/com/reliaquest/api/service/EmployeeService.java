@@ -1,37 +1,330 @@
 package com.reliaquest.api.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.DeleteEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.Response;
+import com.reliaquest.api.web.UpstreamRateLimitInterceptor;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
     private static final String BASE_URL = "http://localhost:8112/api/v1/employee";
+    private static final String ALL_EMPLOYEES_KEY = "all";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String BATCH_URL = BASE_URL + "/batch";
+    private static final ParameterizedTypeReference<Response<List<Employee>>> EMPLOYEE_LIST =
+            new ParameterizedTypeReference<>() {};
+
+    /**
+     * Largest batch the server accepts per request.
+     */
+    static final int BATCH_CHUNK_SIZE = 1000;
 
     private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final UpstreamMetrics upstreamMetrics;
+    private final UpstreamGuard upstreamGuard;
+
+    private final SingleFlight<String, List<Employee>> allEmployeesFlight = new SingleFlight<>();
+    private final SingleFlight<String, Employee> employeeByIdFlight = new SingleFlight<>();
+
+    // The last full listing and the entity tag the server sent with it, if any.
+    private volatile TaggedListing lastListing;
 
+    /**
+     * Concurrent callers share a single upstream request; the returned list must not be modified. While the server
+     * reports the roster unchanged, the list from the previous call is returned again instead of being downloaded.
+     */
     public List<Employee> getAllEmployees() {
+        return allEmployeesFlight.execute(ALL_EMPLOYEES_KEY, () -> read("getAll", this::fetchAllEmployees));
+    }
+
+    /**
+     * Concurrent callers asking for the same id share a single upstream request.
+     */
+    public Employee getEmployeeById(@NonNull String id) {
+        return employeeByIdFlight.execute(id, () -> read("getById", () -> fetchEmployeeById(id)));
+    }
+
+    /**
+     * Asks the server for the employees whose name contains {@code searchString}, ignoring case, so only the matches
+     * are downloaded instead of the whole roster.
+     */
+    public List<Employee> searchByName(@NonNull String searchString) {
+        final var uri = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/search")
+                .queryParam("name", "{name}")
+                .encode()
+                .buildAndExpand(searchString)
+                .toUri();
+        return read("search", () -> fetchQuery(uri, EMPLOYEE_LIST, "search employees"));
+    }
+
+    /**
+     * Asks the server for the highest salary on the roster, 0 when no employee has one.
+     */
+    public int getHighestSalary() {
+        final var uri = URI.create(BASE_URL + "/highestSalary");
+        return read(
+                "highestSalary",
+                () -> fetchQuery(uri, new ParameterizedTypeReference<Response<Integer>>() {}, "get highest salary"));
+    }
+
+    /**
+     * Asks the server for the {@code limit} highest earners, highest salary first; equal salaries keep roster order.
+     */
+    public List<Employee> getTopEarners(int limit) {
+        final var uri = UriComponentsBuilder.fromHttpUrl(BASE_URL + "/topEarners")
+                .queryParam("limit", limit)
+                .build()
+                .toUri();
+        return read("topEarners", () -> fetchQuery(uri, EMPLOYEE_LIST, "get top earners"));
+    }
+
+    /**
+     * Walks the roster with the server's cursor pagination, handing each page to {@code pageConsumer} as it arrives, so
+     * neither side builds the whole listing as a single response body.
+     */
+    public void forEachEmployeePage(int pageSize, @NonNull Consumer<List<Employee>> pageConsumer) {
+        String cursor = null;
+        int pages = 0;
+        do {
+            final var after = cursor;
+            final var page = read("page", () -> fetchEmployeePage(pageSize, after));
+            pageConsumer.accept(page.employees());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+        log.info("Successfully walked {} employee pages", pages);
+    }
+
+    /**
+     * Requests the roster as NDJSON and hands each employee to {@code employeeConsumer} as soon as its line is parsed,
+     * so the response body is never held in memory as a whole.
+     *
+     * @return the number of employees streamed
+     */
+    public int forEachEmployee(@NonNull Consumer<Employee> employeeConsumer) {
+        return read("stream", () -> streamEmployees(employeeConsumer));
+    }
+
+    public Employee create(@NonNull CreateEmployeeInput input) {
+        return write("create", () -> createEmployee(input));
+    }
+
+    public String delete(@NonNull DeleteEmployeeInput input) {
+        return write("delete", () -> deleteEmployee(input));
+    }
+
+    /**
+     * Deletes the employee with the given id in a single upstream call and returns it as deleted. Unlike
+     * {@link #delete}, no lookup is needed first and another employee sharing the name is never removed instead.
+     *
+     * @throws HttpClientErrorException.NotFound if no employee has that id
+     */
+    public Employee deleteById(@NonNull String id) {
+        return write("deleteById", () -> deleteEmployeeById(id));
+    }
+
+    /**
+     * Creates the employees with one upstream request per {@value #BATCH_CHUNK_SIZE} inputs instead of one per input.
+     * Results are in input order; an input the server rejects gets an error result without failing the others.
+     *
+     * <p>If the first chunk fails the error propagates, as for {@link #create}. If a later chunk fails, its inputs and
+     * those after it are reported as failed, so callers still learn which employees were created.
+     */
+    public List<BatchItemResult<Employee>> createAll(@NonNull List<CreateEmployeeInput> inputs) {
+        final var results = inChunks(
+                inputs, chunk -> write("createBatch", () -> exchangeBatch(HttpMethod.POST, chunk, "create employees")));
+        log.info("Successfully created {} of {} employees", countSucceeded(results), inputs.size());
+        return results;
+    }
+
+    /**
+     * Deletes employees by id with one upstream request per {@value #BATCH_CHUNK_SIZE} ids, rather than a lookup and a
+     * delete per employee. Each result holds the deleted employee or an error, in id order; ids that are not UUIDs are
+     * rejected without being sent. Chunk failures are handled as in {@link #createAll}.
+     */
+    public List<BatchItemResult<Employee>> deleteAllById(@NonNull List<String> ids) {
+        final List<UUID> uuids = new ArrayList<>(ids.size());
+        final List<BatchItemResult<Employee>> invalid = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            final var uuid = parseUuid(id);
+            uuids.add(uuid);
+            invalid.add(uuid == null ? BatchItemResult.failed("Invalid employee id: " + id) : null);
+        }
+        final var sent = inChunks(
+                        uuids.stream().filter(Objects::nonNull).collect(Collectors.toList()),
+                        chunk -> write(
+                                "deleteBatch", () -> exchangeBatch(HttpMethod.DELETE, chunk, "delete employees")))
+                .iterator();
+        final List<BatchItemResult<Employee>> results = new ArrayList<>(ids.size());
+        invalid.forEach(result -> results.add(result != null ? result : sent.next()));
+        log.info("Successfully deleted {} of {} employees", countSucceeded(results), ids.size());
+        return results;
+    }
+
+    /*
+     * Upstream calls are timed outside the guard, so calls it rejects without sending are still counted.
+     */
+    private <T> T read(String operation, Supplier<T> call) {
+        return upstreamMetrics.record(operation, () -> upstreamGuard.read(call));
+    }
+
+    private <T> T write(String operation, Supplier<T> call) {
+        return upstreamMetrics.record(operation, () -> upstreamGuard.write(call));
+    }
+
+    private int streamEmployees(Consumer<Employee> employeeConsumer) {
+        log.debug("Streaming all employees from server");
+        try {
+            final Integer count = restTemplate.execute(
+                    BASE_URL,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_NDJSON)),
+                    response -> readEmployees(response.getBody(), employeeConsumer));
+            log.info("Successfully streamed {} employees", count);
+            return count == null ? 0 : count;
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e);
+            return 0;
+        } catch (RestClientException e) {
+            log.error("Error streaming employees from server", e);
+            throw new RuntimeException("Error streaming employees from server", e);
+        }
+    }
+
+    private Employee createEmployee(CreateEmployeeInput input) {
+        log.debug("Creating new employee");
+        try {
+            ResponseEntity<Response<Employee>> response = restTemplate.exchange(
+                    BASE_URL,
+                    HttpMethod.POST,
+                    new HttpEntity<>(input),
+                    new ParameterizedTypeReference<Response<Employee>>() {});
+            Response<Employee> responseWrapper = response.getBody();
+            if (responseWrapper == null || responseWrapper.data() == null) {
+                log.error("Failed to create employee - response was null");
+                throw new RuntimeException("Failed to create employee - response was null");
+            }
+
+            Employee created = responseWrapper.data();
+            log.info("Successfully created employee: {} with ID: {}", created.getName(), created.getId());
+            return created;
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e);
+            return null;
+        } catch (RestClientException e) {
+            log.error("Error creating employee", e);
+            throw new RuntimeException("Failed to create employee", e);
+        }
+    }
+
+    private String deleteEmployee(DeleteEmployeeInput input) {
+        log.debug("Deleting employee");
+        try {
+            ResponseEntity<Response<Boolean>> response = restTemplate.exchange(
+                    BASE_URL,
+                    HttpMethod.DELETE,
+                    new HttpEntity<>(input),
+                    new ParameterizedTypeReference<Response<Boolean>>() {});
+
+            Response<Boolean> responseWrapper = response.getBody();
+            if (responseWrapper == null || responseWrapper.data() == null || !responseWrapper.data()) {
+                log.error("Failed to delete employee - response was null");
+                throw new RuntimeException("Failed to delete employee - response was null");
+            }
+
+            log.info("Successfully deleted employee: {}", input.getName());
+            return input.getName();
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e);
+            return null;
+        } catch (RestClientException e) {
+            log.error("Error deleting employee", e);
+            throw new RuntimeException("Failed to delete employee", e);
+        }
+    }
+
+    private Employee deleteEmployeeById(String id) {
+        log.debug("Deleting employee by ID: {}", id);
+        try {
+            ResponseEntity<Response<Employee>> response = restTemplate.exchange(
+                    BASE_URL + "/" + id,
+                    HttpMethod.DELETE,
+                    null,
+                    new ParameterizedTypeReference<Response<Employee>>() {});
+
+            Response<Employee> responseWrapper = response.getBody();
+            if (responseWrapper == null || responseWrapper.data() == null) {
+                log.error("Failed to delete employee by id - response was null");
+                throw new RuntimeException("Failed to delete employee by id - response was null");
+            }
+
+            log.info("Successfully deleted employee with ID: {}", id);
+            return responseWrapper.data();
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e);
+            return null;
+        } catch (RestClientException e) {
+            log.error("Error deleting employee by ID: {}", id, e);
+            throw new RuntimeException("Failed to delete employee by ID: " + id, e);
+        }
+    }
+
+    /*
+     * Revalidates the previous listing with If-None-Match when the server tagged it, and reuses its parse on a 304.
+     */
+    private List<Employee> fetchAllEmployees() {
         log.debug("Fetching all employees from server");
+        final var previous = lastListing;
         try {
+            HttpEntity<Void> request = null;
+            if (previous != null) {
+                final var headers = new HttpHeaders();
+                headers.setIfNoneMatch(previous.etag());
+                request = new HttpEntity<>(headers);
+            }
             ResponseEntity<Response<List<Employee>>> response = restTemplate.exchange(
-                    BASE_URL, HttpMethod.GET, null, new ParameterizedTypeReference<Response<List<Employee>>>() {});
+                    BASE_URL, HttpMethod.GET, request, new ParameterizedTypeReference<Response<List<Employee>>>() {});
 
+            if (previous != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                log.debug("Employee roster unchanged since {}", previous.etag());
+                return previous.employees();
+            }
             Response<List<Employee>> responseWrapper = response.getBody();
             if (responseWrapper == null || responseWrapper.data() == null) {
                 log.error("Failed to retrieve employees - response was null");
@@ -41,7 +334,10 @@ public class EmployeeService {
             log.info(
                     "Successfully retrieved {} employees",
                     responseWrapper.data().size());
-            return responseWrapper.data();
+            final var employees = Collections.unmodifiableList(responseWrapper.data());
+            final var etag = response.getHeaders().getETag();
+            lastListing = etag == null ? null : new TaggedListing(etag, employees);
+            return employees;
         } catch (HttpClientErrorException e) {
             handleHttpClientErrorException(e);
             return null;
@@ -51,7 +347,34 @@ public class EmployeeService {
         }
     }
 
-    public Employee getEmployeeById(String id) {
+    private EmployeePage fetchEmployeePage(int pageSize, String cursor) {
+        log.debug("Fetching employee page after cursor: {}", cursor);
+        try {
+            final var uri = UriComponentsBuilder.fromHttpUrl(BASE_URL)
+                    .queryParam("limit", pageSize)
+                    .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                    .build()
+                    .toUri();
+            ResponseEntity<Response<List<Employee>>> response = restTemplate.exchange(
+                    uri, HttpMethod.GET, null, new ParameterizedTypeReference<Response<List<Employee>>>() {});
+
+            Response<List<Employee>> responseWrapper = response.getBody();
+            if (responseWrapper == null || responseWrapper.data() == null) {
+                log.error("Failed to retrieve employee page - response was null");
+                throw new RuntimeException("Failed to retrieve employee page - response was null");
+            }
+
+            return new EmployeePage(responseWrapper.data(), response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
+        } catch (HttpClientErrorException e) {
+            handleHttpClientErrorException(e);
+            return null;
+        } catch (RestClientException e) {
+            log.error("Error fetching employee page from server", e);
+            throw new RuntimeException("Error fetching employee page from server", e);
+        }
+    }
+
+    private Employee fetchEmployeeById(String id) {
         log.debug("Fetching employee by ID: {}", id);
         try {
             ResponseEntity<Response<Employee>> response = restTemplate.exchange(
@@ -74,63 +397,111 @@ public class EmployeeService {
         }
     }
 
-    public Employee create(@NonNull CreateEmployeeInput input) {
-        log.debug("Creating new employee");
+    private <T> T fetchQuery(URI uri, ParameterizedTypeReference<Response<T>> responseType, String action) {
+        log.debug("Sending query to {}: {}", action, uri);
         try {
-            ResponseEntity<Response<Employee>> response = restTemplate.exchange(
-                    BASE_URL,
-                    HttpMethod.POST,
-                    new HttpEntity<>(input),
-                    new ParameterizedTypeReference<Response<Employee>>() {});
-            Response<Employee> responseWrapper = response.getBody();
+            ResponseEntity<Response<T>> response = restTemplate.exchange(uri, HttpMethod.GET, null, responseType);
+
+            Response<T> responseWrapper = response.getBody();
             if (responseWrapper == null || responseWrapper.data() == null) {
-                log.error("Failed to create employee - response was null");
-                throw new RuntimeException("Failed to create employee - response was null");
+                log.error("Failed to {} - response was null", action);
+                throw new RuntimeException("Failed to " + action + " - response was null");
             }
-
-            Employee created = responseWrapper.data();
-            log.info("Successfully created employee: {} with ID: {}", created.getName(), created.getId());
-            return created;
+            return responseWrapper.data();
         } catch (HttpClientErrorException e) {
             handleHttpClientErrorException(e);
             return null;
         } catch (RestClientException e) {
-            log.error("Error creating employee", e);
-            throw new RuntimeException("Failed to create employee", e);
+            log.error("Error trying to {}", action, e);
+            throw new RuntimeException("Failed to " + action, e);
         }
     }
 
-    public String delete(@NonNull DeleteEmployeeInput input) {
-        log.debug("Deleting employee");
+    private <T> List<BatchItemResult<Employee>> inChunks(
+            List<T> items, Function<List<T>, List<BatchItemResult<Employee>>> sendChunk) {
+        final List<BatchItemResult<Employee>> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += BATCH_CHUNK_SIZE) {
+            final var chunk = items.subList(from, Math.min(from + BATCH_CHUNK_SIZE, items.size()));
+            try {
+                results.addAll(sendChunk.apply(chunk));
+            } catch (RuntimeException e) {
+                if (from == 0) {
+                    throw e;
+                }
+                log.warn("Batch chunk failed, reporting the remaining {} items as failed", items.size() - from, e);
+                while (results.size() < items.size()) {
+                    results.add(BatchItemResult.failed(e.getMessage()));
+                }
+                break;
+            }
+        }
+        return results;
+    }
+
+    private List<BatchItemResult<Employee>> exchangeBatch(HttpMethod method, List<?> chunk, String action) {
+        log.debug("Sending batch to {} of {} items", action, chunk.size());
         try {
-            ResponseEntity<Response<Boolean>> response = restTemplate.exchange(
-                    BASE_URL,
-                    HttpMethod.DELETE,
-                    new HttpEntity<>(input),
-                    new ParameterizedTypeReference<Response<Boolean>>() {});
+            ResponseEntity<Response<List<BatchItemResult<Employee>>>> response = restTemplate.exchange(
+                    BATCH_URL,
+                    method,
+                    new HttpEntity<>(chunk),
+                    new ParameterizedTypeReference<Response<List<BatchItemResult<Employee>>>>() {});
 
-            Response<Boolean> responseWrapper = response.getBody();
-            if (responseWrapper == null || responseWrapper.data() == null || !responseWrapper.data()) {
-                log.error("Failed to delete employee - response was null");
-                throw new RuntimeException("Failed to delete employee - response was null");
+            Response<List<BatchItemResult<Employee>>> responseWrapper = response.getBody();
+            if (responseWrapper == null
+                    || responseWrapper.data() == null
+                    || responseWrapper.data().size() != chunk.size()) {
+                log.error("Failed to {} - response was null or incomplete", action);
+                throw new RuntimeException("Failed to " + action + " - response was null or incomplete");
             }
-
-            log.info("Successfully deleted employee: {}", input.getName());
-            return input.getName();
+            return responseWrapper.data();
         } catch (HttpClientErrorException e) {
             handleHttpClientErrorException(e);
             return null;
         } catch (RestClientException e) {
-            log.error("Error deleting employee", e);
-            throw new RuntimeException("Failed to delete employee", e);
+            log.error("Error trying to {}", action, e);
+            throw new RuntimeException("Failed to " + action, e);
+        }
+    }
+
+    private static long countSucceeded(List<BatchItemResult<Employee>> results) {
+        return results.stream().filter(result -> result.error() == null).count();
+    }
+
+    /**
+     * Returns the id as a UUID, or {@code null} if it is not one.
+     */
+    static UUID parseUuid(String id) {
+        try {
+            return id == null ? null : UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
     }
 
+    private int readEmployees(InputStream body, Consumer<Employee> employeeConsumer) throws IOException {
+        int count = 0;
+        try (MappingIterator<Employee> employees = objectMapper.readerFor(Employee.class).readValues(body)) {
+            while (employees.hasNextValue()) {
+                employeeConsumer.accept(employees.nextValue());
+                count++;
+            }
+        }
+        return count;
+    }
+
     private void handleHttpClientErrorException(HttpClientErrorException e) {
         if (e.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
             log.warn("Rate limited by server (429 Too Many Requests)");
-            throw new RuntimeException("Server rate limit exceeded. Please try again later.", e);
+            throw new UpstreamRateLimitedException(
+                    UpstreamRateLimitedException.DEFAULT_MESSAGE,
+                    UpstreamRateLimitInterceptor.parseRetryAfter(e.getResponseHeaders()),
+                    e);
         }
         throw e;
     }
+
+    private record EmployeePage(List<Employee> employees, String nextCursor) {}
+
+    private record TaggedListing(String etag, List<Employee> employees) {}
 }
@@ -0,0 +1,11 @@
+package com.reliaquest.api.service;
+
+/**
+ * Where the name search, highest salary and top earners queries are answered.
+ */
+public enum QueryMode {
+    /** From the roster snapshot, which is downloaded whole and refreshed in the background. */
+    LOCAL,
+    /** By the mock server, one request per query; only the result crosses the wire. */
+    PUSHDOWN
+}
@@ -0,0 +1,281 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Response;
+import com.reliaquest.api.web.UpstreamRateLimitInterceptor;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}, used when {@code api.mode=reactive}. Failures are reported with
+ * the same exception types and messages as the blocking client.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "api.mode", havingValue = "reactive")
+public class ReactiveEmployeeService {
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+
+    private final WebClient mockServerWebClient;
+    private final UpstreamMetrics upstreamMetrics;
+    private final UpstreamGuard upstreamGuard;
+
+    // The last full listing and the entity tag the server sent with it, if any.
+    private volatile TaggedListing lastListing;
+
+    /**
+     * Revalidates the previous listing with If-None-Match when the server tagged it, and reuses its parse on a 304.
+     */
+    public Mono<List<Employee>> getAllEmployees() {
+        log.debug("Fetching all employees from server");
+        return Mono.defer(() -> {
+                    final var previous = lastListing;
+                    return mockServerWebClient
+                            .get()
+                            .uri(EMPLOYEE_PATH)
+                            .headers(headers -> {
+                                if (previous != null) {
+                                    headers.setIfNoneMatch(previous.etag());
+                                }
+                            })
+                            .retrieve()
+                            .toEntity(new ParameterizedTypeReference<Response<List<Employee>>>() {})
+                            .mapNotNull(response -> listingOf(previous, response));
+                })
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to retrieve employees - response was null");
+                    return new RuntimeException("Failed to retrieve employees - response was null");
+                }))
+                .doOnNext(employees -> log.info("Successfully retrieved {} employees", employees.size()))
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ReactiveEmployeeService::rateLimited)
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("Error fetching all employees from server", e);
+                    return new RuntimeException("Error fetching all employees from server", e);
+                })
+                .transform(call -> upstreamGuard.read(call))
+                .transform(call -> upstreamMetrics.record("getAll", call));
+    }
+
+    /**
+     * Requests the roster as NDJSON and emits each employee as soon as its line is decoded.
+     */
+    public Flux<Employee> streamAllEmployees() {
+        log.debug("Streaming all employees from server");
+        return mockServerWebClient
+                .get()
+                .uri(EMPLOYEE_PATH)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(Employee.class)
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ReactiveEmployeeService::rateLimited)
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("Error streaming employees from server", e);
+                    return new RuntimeException("Error streaming employees from server", e);
+                })
+                .transform(call -> upstreamGuard.read(call))
+                .transform(call -> upstreamMetrics.record("stream", call));
+    }
+
+    public Mono<Employee> getEmployeeById(@NonNull String id) {
+        log.debug("Fetching employee by ID: {}", id);
+        return mockServerWebClient
+                .get()
+                .uri(EMPLOYEE_PATH + "/{id}", id)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Response<Employee>>() {})
+                .mapNotNull(Response::data)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to retrieve employee by id - response was null");
+                    return new RuntimeException("Failed to retrieve employee by id - response was null");
+                }))
+                .doOnNext(employee -> log.info("Successfully retrieved employee"))
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ReactiveEmployeeService::rateLimited)
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("Error fetching employee by ID: {}", id, e);
+                    return new RuntimeException("Error fetching employee by ID: " + id, e);
+                })
+                .transform(call -> upstreamGuard.read(call))
+                .transform(call -> upstreamMetrics.record("getById", call));
+    }
+
+    /**
+     * Asks the server for the employees whose name contains {@code searchString}, ignoring case, so only the matches
+     * are downloaded instead of the whole roster.
+     */
+    public Mono<List<Employee>> searchByName(@NonNull String searchString) {
+        return query(
+                "search",
+                uri -> uri.path(EMPLOYEE_PATH + "/search").queryParam("name", "{name}").build(searchString),
+                new ParameterizedTypeReference<Response<List<Employee>>>() {},
+                "search employees");
+    }
+
+    /**
+     * Asks the server for the highest salary on the roster, 0 when no employee has one.
+     */
+    public Mono<Integer> getHighestSalary() {
+        return query(
+                "highestSalary",
+                uri -> uri.path(EMPLOYEE_PATH + "/highestSalary").build(),
+                new ParameterizedTypeReference<Response<Integer>>() {},
+                "get highest salary");
+    }
+
+    /**
+     * Asks the server for the {@code limit} highest earners, highest salary first; equal salaries keep roster order.
+     */
+    public Mono<List<Employee>> getTopEarners(int limit) {
+        return query(
+                "topEarners",
+                uri -> uri.path(EMPLOYEE_PATH + "/topEarners").queryParam("limit", limit).build(),
+                new ParameterizedTypeReference<Response<List<Employee>>>() {},
+                "get top earners");
+    }
+
+    public Mono<Employee> create(@NonNull CreateEmployeeInput input) {
+        log.debug("Creating new employee");
+        return mockServerWebClient
+                .post()
+                .uri(EMPLOYEE_PATH)
+                .bodyValue(input)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Response<Employee>>() {})
+                .mapNotNull(Response::data)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to create employee - response was null");
+                    return new RuntimeException("Failed to create employee - response was null");
+                }))
+                .doOnNext(created -> log.info(
+                        "Successfully created employee: {} with ID: {}", created.getName(), created.getId()))
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ReactiveEmployeeService::rateLimited)
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("Error creating employee", e);
+                    return new RuntimeException("Failed to create employee", e);
+                })
+                .transform(call -> upstreamGuard.write(call))
+                .transform(call -> upstreamMetrics.record("create", call));
+    }
+
+    public Mono<String> delete(@NonNull DeleteEmployeeInput input) {
+        log.debug("Deleting employee");
+        return mockServerWebClient
+                .method(HttpMethod.DELETE)
+                .uri(EMPLOYEE_PATH)
+                .bodyValue(input)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Response<Boolean>>() {})
+                .mapNotNull(Response::data)
+                .filter(Boolean.TRUE::equals)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to delete employee - response was null");
+                    return new RuntimeException("Failed to delete employee - response was null");
+                }))
+                .map(deleted -> {
+                    log.info("Successfully deleted employee: {}", input.getName());
+                    return input.getName();
+                })
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ReactiveEmployeeService::rateLimited)
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("Error deleting employee", e);
+                    return new RuntimeException("Failed to delete employee", e);
+                })
+                .transform(call -> upstreamGuard.write(call))
+                .transform(call -> upstreamMetrics.record("delete", call));
+    }
+
+    /**
+     * Deletes the employee with the given id in a single upstream call and emits it as deleted; errors with
+     * {@link WebClientResponseException.NotFound} if no employee has that id.
+     */
+    public Mono<Employee> deleteById(@NonNull String id) {
+        log.debug("Deleting employee by ID: {}", id);
+        return mockServerWebClient
+                .delete()
+                .uri(EMPLOYEE_PATH + "/{id}", id)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Response<Employee>>() {})
+                .mapNotNull(Response::data)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to delete employee by id - response was null");
+                    return new RuntimeException("Failed to delete employee by id - response was null");
+                }))
+                .doOnNext(deleted -> log.info("Successfully deleted employee with ID: {}", id))
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ReactiveEmployeeService::rateLimited)
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("Error deleting employee by ID: {}", id, e);
+                    return new RuntimeException("Failed to delete employee by ID: " + id, e);
+                })
+                .transform(call -> upstreamGuard.write(call))
+                .transform(call -> upstreamMetrics.record("deleteById", call));
+    }
+
+    private <T> Mono<T> query(
+            String operation,
+            Function<UriBuilder, URI> uri,
+            ParameterizedTypeReference<Response<T>> responseType,
+            String action) {
+        return Mono.defer(() -> {
+                    log.debug("Sending query to {}", action);
+                    return mockServerWebClient.get().uri(uri).retrieve().bodyToMono(responseType);
+                })
+                .mapNotNull(Response::data)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Failed to {} - response was null", action);
+                    return new RuntimeException("Failed to " + action + " - response was null");
+                }))
+                .onErrorMap(WebClientResponseException.TooManyRequests.class, ReactiveEmployeeService::rateLimited)
+                .onErrorMap(WebClientRequestException.class, e -> {
+                    log.error("Error trying to {}", action, e);
+                    return new RuntimeException("Failed to " + action, e);
+                })
+                .transform(call -> upstreamGuard.read(call))
+                .transform(call -> upstreamMetrics.record(operation, call));
+    }
+
+    private List<Employee> listingOf(TaggedListing previous, ResponseEntity<Response<List<Employee>>> response) {
+        if (previous != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            log.debug("Employee roster unchanged since {}", previous.etag());
+            return previous.employees();
+        }
+        final var body = response.getBody();
+        if (body == null || body.data() == null) {
+            return null;
+        }
+        final var employees = Collections.unmodifiableList(body.data());
+        final var etag = response.getHeaders().getETag();
+        lastListing = etag == null ? null : new TaggedListing(etag, employees);
+        return employees;
+    }
+
+    private static UpstreamRateLimitedException rateLimited(WebClientResponseException e) {
+        log.warn("Rate limited by server (429 Too Many Requests)");
+        return new UpstreamRateLimitedException(
+                UpstreamRateLimitedException.DEFAULT_MESSAGE,
+                UpstreamRateLimitInterceptor.parseRetryAfter(e.getHeaders()),
+                e);
+    }
+
+    private record TaggedListing(String etag, List<Employee> employees) {}
+}
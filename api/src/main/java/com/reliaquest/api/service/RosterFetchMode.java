@@ -0,0 +1,13 @@
+package com.reliaquest.api.service;
+
+/**
+ * How {@link EmployeeRosterCache} pulls the roster from the mock server.
+ */
+public enum RosterFetchMode {
+    /** One request whose whole JSON body is read into a list. */
+    FULL,
+    /** Successive cursor pages of {@code api.roster.page-size} employees. */
+    PAGED,
+    /** One NDJSON request parsed employee by employee as the body arrives. */
+    STREAM
+}
@@ -0,0 +1,65 @@
+package com.reliaquest.api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Collapses concurrent calls for the same key into a single execution. The first caller runs the supplier; callers that
+ * arrive while it is in flight wait for it and receive the same result, or the same exception. Once the call
+ * completes, the next caller for that key starts a fresh execution.
+ *
+ * @param <K> key identifying equivalent calls
+ * @param <V> result type shared between callers
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+
+    public V execute(@NonNull K key, @NonNull Supplier<V> supplier) {
+        final var call = new CompletableFuture<V>();
+        final var existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalescedCalls.incrementAndGet();
+            return await(existing);
+        }
+
+        final V result;
+        try {
+            result = supplier.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(key, call);
+        call.complete(result);
+        return result;
+    }
+
+    /**
+     * @return number of calls that were served by joining an execution already in flight
+     */
+    public long getCoalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.web.UpstreamExchangeTimer;
+import java.time.Duration;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Isolates request threads from a slow or failing mock server, for both the blocking and reactive clients.
+ *
+ * <p>Every call passes a shared {@link CircuitBreaker}, which counts server errors, transport failures and calls slower
+ * than {@code slow-call-threshold} as failures; client errors such as 404 prove the server is answering and count as
+ * successes. Rate limited calls, whether shed by the client-side limiter or throttled by the server, are left to the
+ * limiter and not recorded at all. A call is timed by its HTTP exchanges, as added up by an
+ * {@link UpstreamExchangeTimer}, so waiting for a rate limit permit or backing off after a 429 never makes it slow;
+ * clients that do not report their exchanges are timed as a whole.
+ *
+ * <p>Reads and writes each get their own {@link Bulkhead}, so slow creates and deletes can never occupy the
+ * connections and threads that reads need. Rejected calls fail fast with {@link UpstreamUnavailableException} instead
+ * of waiting out the read timeout.
+ *
+ * <p>Reactive calls never wait for a bulkhead slot, since waiting would block an event loop thread.
+ */
+@Component
+public class UpstreamGuard {
+
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    @Getter
+    private final CircuitBreaker circuitBreaker;
+
+    @Getter
+    private final Bulkhead readBulkhead;
+
+    @Getter
+    private final Bulkhead writeBulkhead;
+
+    @Autowired
+    public UpstreamGuard(
+            @Value("${api.upstream.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${api.upstream.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${api.upstream.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${api.upstream.circuit-breaker.slow-call-threshold:5s}") Duration slowCallThreshold,
+            @Value("${api.upstream.circuit-breaker.open-duration:10s}") Duration openDuration,
+            @Value("${api.upstream.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+            @Value("${api.upstream.bulkhead.read.max-concurrent:20}") int readMaxConcurrent,
+            @Value("${api.upstream.bulkhead.read.max-wait:100ms}") Duration readMaxWait,
+            @Value("${api.upstream.bulkhead.write.max-concurrent:10}") int writeMaxConcurrent,
+            @Value("${api.upstream.bulkhead.write.max-wait:100ms}") Duration writeMaxWait) {
+        this(
+                new CircuitBreaker(
+                        windowSize,
+                        minimumCalls,
+                        failureRateThreshold,
+                        slowCallThreshold,
+                        openDuration,
+                        halfOpenCalls),
+                new Bulkhead("read", readMaxConcurrent, readMaxWait),
+                new Bulkhead("write", writeMaxConcurrent, writeMaxWait));
+    }
+
+    UpstreamGuard(
+            @NonNull CircuitBreaker circuitBreaker, @NonNull Bulkhead readBulkhead, @NonNull Bulkhead writeBulkhead) {
+        this.circuitBreaker = circuitBreaker;
+        this.readBulkhead = readBulkhead;
+        this.writeBulkhead = writeBulkhead;
+    }
+
+    public <T> T read(@NonNull Supplier<T> call) {
+        return guard(readBulkhead, call);
+    }
+
+    public <T> T write(@NonNull Supplier<T> call) {
+        return guard(writeBulkhead, call);
+    }
+
+    public <T> Mono<T> read(@NonNull Mono<T> call) {
+        return guard(readBulkhead, call);
+    }
+
+    public <T> Flux<T> read(@NonNull Flux<T> call) {
+        return Flux.defer(() -> {
+            admit(readBulkhead, Duration.ZERO);
+            final long start = System.nanoTime();
+            final var exchanges = new UpstreamExchangeTimer();
+            return exchanges
+                    .time(call)
+                    .doOnComplete(() -> onResult(start, exchanges, null))
+                    .doOnError(e -> onResult(start, exchanges, e))
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> readBulkhead.release());
+        });
+    }
+
+    public <T> Mono<T> write(@NonNull Mono<T> call) {
+        return guard(writeBulkhead, call);
+    }
+
+    private <T> T guard(Bulkhead bulkhead, Supplier<T> call) {
+        admit(bulkhead, bulkhead.getMaxWait());
+        final long start = System.nanoTime();
+        final var exchanges = new UpstreamExchangeTimer();
+        try {
+            final T result = exchanges.time(call);
+            onResult(start, exchanges, null);
+            return result;
+        } catch (RuntimeException e) {
+            onResult(start, exchanges, e);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> Mono<T> guard(Bulkhead bulkhead, Mono<T> call) {
+        return Mono.defer(() -> {
+            admit(bulkhead, Duration.ZERO);
+            final long start = System.nanoTime();
+            final var exchanges = new UpstreamExchangeTimer();
+            return exchanges
+                    .time(call)
+                    .doOnSuccess(ignored -> onResult(start, exchanges, null))
+                    .doOnError(e -> onResult(start, exchanges, e))
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /*
+     * The bulkhead is taken first, as it may wait; taking the breaker's permission after it means a half-open trial
+     * permission is never held by a caller that is still queueing.
+     */
+    private void admit(Bulkhead bulkhead, Duration wait) {
+        if (!bulkhead.tryAcquire(wait)) {
+            throw new UpstreamUnavailableException(
+                    "Too many concurrent " + bulkhead.getName() + " requests to the employee server. "
+                            + "Please try again later.",
+                    BULKHEAD_RETRY_AFTER);
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            throw new UpstreamUnavailableException(
+                    "Employee server is unavailable. Please try again later.", circuitBreaker.getRetryAfter());
+        }
+    }
+
+    private void onResult(long startNanos, UpstreamExchangeTimer exchanges, Throwable error) {
+        if (error != null && isRateLimited(error)) {
+            circuitBreaker.releasePermission();
+            return;
+        }
+        final var elapsed = exchanges.hasExchanged()
+                ? exchanges.getElapsed()
+                : Duration.ofNanos(System.nanoTime() - startNanos);
+        circuitBreaker.onResult(elapsed, error != null && isFailure(error));
+    }
+
+    private static boolean isRateLimited(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamRateLimitedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isFailure(Throwable error) {
+        final int status = UpstreamMetrics.statusOf(error);
+        return status == 0 || status >= 500;
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-operation timings and error counts for calls to the mock server, shared by the blocking and reactive clients.
+ *
+ * <ul>
+ *   <li>{@code employee.upstream.calls} times each call end to end, including admission, retries and decoding the
+ *       response, tagged with the operation and its outcome. Calls turned away by the {@link UpstreamGuard} without
+ *       being sent have outcome {@code rejected}. It publishes a percentile histogram, so p99 can be
+ *       computed server-side from the scraped buckets.
+ *   <li>{@code employee.upstream.errors} counts failed calls by operation and status: {@code 429}, {@code 4xx} or
+ *       {@code 5xx}. Shed calls count as {@code 429}, since they fail for the same reason.
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamMetrics {
+
+    static final String CALLS = "employee.upstream.calls";
+    static final String ERRORS = "employee.upstream.errors";
+
+    private final MeterRegistry meterRegistry;
+
+    public <T> T record(@NonNull String operation, @NonNull Supplier<T> call) {
+        final var sample = Timer.start(meterRegistry);
+        try {
+            final T result = call.get();
+            stop(sample, operation, "success");
+            return result;
+        } catch (RuntimeException e) {
+            stop(sample, operation, outcomeOf(operation, e));
+            throw e;
+        }
+    }
+
+    public <T> Mono<T> record(@NonNull String operation, @NonNull Mono<T> call) {
+        return Mono.defer(() -> {
+            final var sample = Timer.start(meterRegistry);
+            return call.doOnSuccess(ignored -> stop(sample, operation, "success"))
+                    .doOnError(e -> stop(sample, operation, outcomeOf(operation, e)))
+                    .doOnCancel(() -> stop(sample, operation, "cancelled"));
+        });
+    }
+
+    public <T> Flux<T> record(@NonNull String operation, @NonNull Flux<T> call) {
+        return Flux.defer(() -> {
+            final var sample = Timer.start(meterRegistry);
+            return call.doOnComplete(() -> stop(sample, operation, "success"))
+                    .doOnError(e -> stop(sample, operation, outcomeOf(operation, e)))
+                    .doOnCancel(() -> stop(sample, operation, "cancelled"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder(CALLS)
+                .description("Calls to the mock server, from admission to decoded response")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private String outcomeOf(String operation, Throwable error) {
+        if (error instanceof UpstreamUnavailableException) {
+            return "rejected";
+        }
+        final int status = statusOf(error);
+        if (status >= 400) {
+            Counter.builder(ERRORS)
+                    .description("Failed calls to the mock server, by status")
+                    .tag("operation", operation)
+                    .tag("status", status == 429 ? "429" : status < 500 ? "4xx" : "5xx")
+                    .register(meterRegistry)
+                    .increment();
+        }
+        if (status == 429) {
+            return "rate_limited";
+        }
+        if (status >= 500) {
+            return "server_error";
+        }
+        return status >= 400 ? "client_error" : "error";
+    }
+
+    /*
+     * The blocking client wraps failures in RuntimeExceptions, so the status is looked up along the cause chain.
+     * Returns 0 when no response status is involved, e.g. for connection failures.
+     */
+    static int statusOf(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamRateLimitedException) {
+                return 429;
+            }
+            if (cause instanceof RestClientResponseException e) {
+                return e.getStatusCode().value();
+            }
+            if (cause instanceof WebClientResponseException e) {
+                return e.getStatusCode().value();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Drains the {@link WriteBehindQueue} to the mock server on a background thread, sending up to {@code batch-size}
+ * queued creates per batch request.
+ *
+ * <p>Batches go through the same rate-limited client as every other upstream call. When the server throttles, the
+ * dispatcher waits out its Retry-After hint; on other failures it resends the same batch with exponential backoff. A
+ * batch is only marked finished once the server has answered it, so creates are delivered at least once and in order.
+ * A batch the server rejects outright as a client error is failed instead, since resending it cannot succeed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "api.create.write-behind.enabled", havingValue = "true")
+public class WriteBehindDispatcher {
+
+    private static final Duration IDLE_WAIT = Duration.ofSeconds(1);
+
+    private final WriteBehindQueue queue;
+    private final EmployeeService employeeService;
+    private final EmployeeRosterCache rosterCache;
+    private final int batchSize;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final ExecutorService executor;
+
+    // Only touched by the dispatcher thread.
+    private Duration backoff;
+
+    @Autowired
+    public WriteBehindDispatcher(
+            WriteBehindQueue queue,
+            EmployeeService employeeService,
+            EmployeeRosterCache rosterCache,
+            @Value("${api.create.write-behind.batch-size:100}") int batchSize,
+            @Value("${api.create.write-behind.retry-backoff:1s}") Duration retryBackoff,
+            @Value("${api.create.write-behind.max-backoff:30s}") Duration maxBackoff) {
+        if (batchSize < 1 || batchSize > EmployeeService.BATCH_CHUNK_SIZE) {
+            throw new IllegalArgumentException(
+                    "api.create.write-behind.batch-size must be between 1 and " + EmployeeService.BATCH_CHUNK_SIZE);
+        }
+        this.queue = queue;
+        this.employeeService = employeeService;
+        this.rosterCache = rosterCache;
+        this.batchSize = batchSize;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.backoff = retryBackoff;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final var thread = new Thread(runnable, "write-behind-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void start() {
+        executor.execute(this::run);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /*
+     * Sends the next batch, if one is queued within the wait, and returns how long to pause before the next attempt.
+     */
+    Duration dispatchNext(Duration wait) throws InterruptedException {
+        final var batch = queue.awaitPending(batchSize, wait);
+        if (batch.isEmpty()) {
+            return Duration.ZERO;
+        }
+        final List<BatchItemResult<Employee>> results;
+        try {
+            results = employeeService.createAll(batch.stream()
+                    .map(WriteBehindQueue.Pending::input)
+                    .collect(Collectors.toList()));
+        } catch (UpstreamRateLimitedException e) {
+            final var delay = e.getRetryAfter() != null ? e.getRetryAfter() : nextBackoff();
+            log.warn("Rate limited while sending {} queued creates, retrying in {}", batch.size(), delay);
+            return delay;
+        } catch (UpstreamUnavailableException e) {
+            final var delay = e.getRetryAfter().isZero() ? nextBackoff() : e.getRetryAfter();
+            log.warn("Mock server unavailable for {} queued creates, retrying in {}", batch.size(), delay);
+            return delay;
+        } catch (HttpClientErrorException e) {
+            log.error("Mock server rejected a batch of {} queued creates, failing them", batch.size(), e);
+            final var error = "Rejected by server: " + e.getStatusCode();
+            final List<BatchItemResult<Employee>> rejected = batch.stream()
+                    .map(ignored -> BatchItemResult.<Employee>failed(error))
+                    .collect(Collectors.toList());
+            finish(batch, rejected);
+            return Duration.ZERO;
+        } catch (RuntimeException e) {
+            final var delay = nextBackoff();
+            log.warn("Failed to send {} queued creates, retrying in {}", batch.size(), delay, e);
+            return delay;
+        }
+        finish(batch, results);
+        backoff = retryBackoff;
+        return Duration.ZERO;
+    }
+
+    /*
+     * Like dispatchNext, but a failure outside the upstream call, such as the queue failing to record outcomes, backs
+     * off instead of escaping; the batch stays pending and is sent again.
+     */
+    Duration attemptNext(Duration wait) throws InterruptedException {
+        try {
+            return dispatchNext(wait);
+        } catch (RuntimeException e) {
+            final var delay = nextBackoff();
+            log.error("Write-behind dispatch failed, retrying in {}", delay, e);
+            return delay;
+        }
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final var delay = attemptNext(IDLE_WAIT);
+                if (!delay.isZero()) {
+                    Thread.sleep(delay.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void finish(List<WriteBehindQueue.Pending> batch, List<BatchItemResult<Employee>> results) {
+        queue.finish(batch.stream().map(WriteBehindQueue.Pending::id).collect(Collectors.toList()), results);
+        rosterCache.recordCreated(results.stream()
+                .filter(result -> result.error() == null)
+                .map(BatchItemResult::data)
+                .collect(Collectors.toList()));
+        log.info("Dispatched {} queued creates", batch.size());
+    }
+
+    private Duration nextBackoff() {
+        final var delay = backoff;
+        backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+        return delay;
+    }
+}
@@ -0,0 +1,292 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.QueuedCreate;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Durable queue of creates accepted in write-behind mode, backed by an append-only log with one JSON entry per line.
+ *
+ * <p>An accepted input is appended and forced to disk before {@link #enqueue} returns, so an acknowledged create
+ * survives a restart. Outcomes are appended as the {@link WriteBehindDispatcher} reports them. On startup the log is
+ * replayed to rebuild the pending inputs and recent outcomes, then rewritten with only those; the same compaction runs
+ * after every {@code compact-after} appends, so the log stays bounded even if the queue never drains.
+ *
+ * <p>Outcomes of the last {@code status-retention} finished creates are kept for status polling; older ones are
+ * forgotten.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "api.create.write-behind.enabled", havingValue = "true")
+public class WriteBehindQueue {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+    private final int compactAfter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<String, CreateEmployeeInput> pending = new LinkedHashMap<>();
+    private final Map<String, QueuedCreate> finished;
+
+    private FileChannel channel;
+    private int appendedSinceCompaction;
+
+    @Autowired
+    public WriteBehindQueue(
+            ObjectMapper objectMapper,
+            @Value("${api.create.write-behind.path:data/create-queue.log}") String path,
+            @Value("${api.create.write-behind.status-retention:10000}") int statusRetention,
+            @Value("${api.create.write-behind.compact-after:10000}") int compactAfter)
+            throws IOException {
+        this(objectMapper, Path.of(path), statusRetention, compactAfter);
+    }
+
+    WriteBehindQueue(ObjectMapper objectMapper, Path path, int statusRetention, int compactAfter) throws IOException {
+        if (statusRetention < 0 || compactAfter < 1) {
+            throw new IllegalArgumentException(
+                    "api.create.write-behind.status-retention must not be negative and compact-after must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.path = path.toAbsolutePath();
+        this.compactAfter = compactAfter;
+        this.finished = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QueuedCreate> eldest) {
+                return size() > statusRetention;
+            }
+        };
+        if (this.path.getParent() != null) {
+            Files.createDirectories(this.path.getParent());
+        }
+        replay();
+        compact();
+        log.info("Write-behind queue at {} holds {} pending creates", this.path, pending.size());
+    }
+
+    /**
+     * Appends {@code input} durably and returns its pending state, whose id can be polled with {@link #getStatus}.
+     *
+     * @throws UncheckedIOException if the input could not be written to the log
+     */
+    public QueuedCreate enqueue(@NonNull CreateEmployeeInput input) {
+        final var id = UUID.randomUUID().toString();
+        lock.lock();
+        try {
+            append(List.of(new LogEntry(id, input, null, null)));
+            pending.put(id, input);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return QueuedCreate.pending(id);
+    }
+
+    /**
+     * Waits up to {@code timeout} for pending creates and returns up to {@code max} of them, oldest first. They stay
+     * pending, and are returned again by the next call, until {@link #finish} records their outcome.
+     */
+    public List<Pending> awaitPending(int max, @NonNull Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long remainingNanos = timeout.toNanos();
+            while (pending.isEmpty() && remainingNanos > 0) {
+                remainingNanos = notEmpty.awaitNanos(remainingNanos);
+            }
+            final List<Pending> batch = new ArrayList<>(Math.min(max, pending.size()));
+            for (Map.Entry<String, CreateEmployeeInput> entry : pending.entrySet()) {
+                if (batch.size() == max) {
+                    break;
+                }
+                batch.add(new Pending(entry.getKey(), entry.getValue()));
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the outcome of each pending create in {@code ids}, with one forced write for the whole batch.
+     */
+    public void finish(@NonNull List<String> ids, @NonNull List<BatchItemResult<Employee>> results) {
+        if (ids.size() != results.size()) {
+            throw new IllegalArgumentException("Expected one result per id");
+        }
+        final List<LogEntry> entries = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            entries.add(new LogEntry(ids.get(i), null, results.get(i).data(), results.get(i).error()));
+        }
+        lock.lock();
+        try {
+            append(entries);
+            entries.forEach(this::apply);
+            if (appendedSinceCompaction >= compactAfter) {
+                compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact write-behind log " + path, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the state of the create accepted as {@code id}, or empty if it is unknown or its outcome has been
+     * forgotten.
+     */
+    public Optional<QueuedCreate> getStatus(@NonNull String id) {
+        lock.lock();
+        try {
+            if (pending.containsKey(id)) {
+                return Optional.of(QueuedCreate.pending(id));
+            }
+            return Optional.ofNullable(finished.get(id));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        lock.lock();
+        try {
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * A malformed line is skipped rather than failing startup; the last line in particular may be torn by a crash
+     * mid-append, in which case that create was never acknowledged.
+     */
+    private void replay() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (var lines = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int number = 0;
+            while ((line = lines.readLine()) != null) {
+                number++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    apply(objectMapper.readValue(line, LogEntry.class));
+                } catch (JsonProcessingException e) {
+                    log.warn("Skipping malformed entry on line {} of write-behind log {}", number, path, e);
+                }
+            }
+        }
+    }
+
+    private void apply(LogEntry entry) {
+        if (entry.input() != null) {
+            pending.put(entry.id(), entry.input());
+        } else {
+            pending.remove(entry.id());
+            finished.put(
+                    entry.id(),
+                    entry.error() == null
+                            ? QueuedCreate.created(entry.id(), entry.employee())
+                            : QueuedCreate.failed(entry.id(), entry.error()));
+        }
+    }
+
+    /*
+     * Callers hold the lock. Retained outcomes are written before pending inputs so replaying the rewritten log
+     * restores both in their original order.
+     */
+    private void compact() throws IOException {
+        final var rewritten = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var out = FileChannel.open(
+                rewritten, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final List<LogEntry> entries = new ArrayList<>(finished.size() + pending.size());
+            finished.values()
+                    .forEach(status -> entries.add(new LogEntry(status.id(), null, status.employee(), status.error())));
+            pending.forEach((id, input) -> entries.add(new LogEntry(id, input, null, null)));
+            write(out, entries);
+            out.force(true);
+        }
+        Files.move(rewritten, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (channel != null) {
+            channel.close();
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        appendedSinceCompaction = 0;
+    }
+
+    /*
+     * Callers hold the lock.
+     */
+    private void append(List<LogEntry> entries) {
+        try {
+            write(channel, entries);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to write-behind log " + path, e);
+        }
+        appendedSinceCompaction += entries.size();
+    }
+
+    private void write(FileChannel out, List<LogEntry> entries) throws IOException {
+        final var bytes = new ByteArrayOutputStream();
+        for (LogEntry entry : entries) {
+            bytes.write(objectMapper.writeValueAsBytes(entry));
+            bytes.write('\n');
+        }
+        final var buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    public record Pending(String id, CreateEmployeeInput input) {}
+
+    /*
+     * An accepted input when input is set, otherwise the outcome: the created employee, or an error.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record LogEntry(String id, CreateEmployeeInput input, Employee employee, String error) {}
+}
@@ -0,0 +1,196 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import lombok.NonNull;
+
+/**
+ * Token bucket that learns the upstream request budget from the throttling responses it observes.
+ *
+ * <p>The bucket starts from a configured burst and refill rate. Each 429 empties the bucket, blocks admission for the
+ * server-provided {@code Retry-After} (or an exponentially growing probe cooldown when none is given), and resets the
+ * burst to the number of requests that succeeded since the previous throttle. The first success after a throttle
+ * measures how long the server stayed closed and derives the refill rate from it, so that the steady-state pace
+ * approaches what the server actually allows.
+ */
+public class AdaptiveRateLimiter {
+
+    private final int maxBurst;
+    private final Duration minCooldown;
+    private final Duration maxCooldown;
+    private final LongSupplier nanoTime;
+
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private final AtomicLong shedCount = new AtomicLong();
+
+    private double burst;
+    private double refillPerNano;
+    private double tokens;
+    private long lastRefillNanos;
+    private long blockedUntilNanos;
+    private boolean recovering;
+    private long throttledSinceNanos;
+    private int successesSinceThrottle;
+    private Duration nextCooldown;
+
+    public AdaptiveRateLimiter(
+            int initialBurst,
+            double initialRefillPerSecond,
+            int maxBurst,
+            @NonNull Duration minCooldown,
+            @NonNull Duration maxCooldown) {
+        this(initialBurst, initialRefillPerSecond, maxBurst, minCooldown, maxCooldown, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(
+            int initialBurst,
+            double initialRefillPerSecond,
+            int maxBurst,
+            Duration minCooldown,
+            Duration maxCooldown,
+            LongSupplier nanoTime) {
+        if (initialBurst < 1 || maxBurst < initialBurst || initialRefillPerSecond <= 0) {
+            throw new IllegalArgumentException(
+                    "Rate limiter requires 1 <= initialBurst <= maxBurst and a positive refill rate");
+        }
+        this.maxBurst = maxBurst;
+        this.minCooldown = minCooldown;
+        this.maxCooldown = maxCooldown;
+        this.nanoTime = nanoTime;
+        this.burst = initialBurst;
+        this.refillPerNano = initialRefillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = initialBurst;
+        this.lastRefillNanos = nanoTime.getAsLong();
+        this.blockedUntilNanos = lastRefillNanos;
+        this.nextCooldown = minCooldown;
+    }
+
+    /**
+     * Waits for a permit for at most {@code maxWait}. Returns immediately with {@code false} when the limiter already
+     * knows no permit will be available within that time, so callers can shed instead of queueing pointlessly.
+     */
+    public boolean acquire(@NonNull Duration maxWait) throws InterruptedException {
+        final long deadline = nanoTime.getAsLong() + maxWait.toNanos();
+        while (true) {
+            final long waitNanos = tryAcquire();
+            if (waitNanos == 0) {
+                return true;
+            }
+            if (nanoTime.getAsLong() + waitNanos > deadline) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    public synchronized void onSuccess() {
+        successesSinceThrottle++;
+        if (recovering) {
+            final long now = nanoTime.getAsLong();
+            final long closedForNanos = Math.max(1, now - throttledSinceNanos);
+            refillPerNano = burst / closedForNanos;
+            tokens = Math.max(0, burst - 1);
+            lastRefillNanos = now;
+            recovering = false;
+            nextCooldown = minCooldown;
+        }
+    }
+
+    /**
+     * @param retryAfter server-provided delay, or {@code null} when the response did not carry one
+     * @return how long admission is now blocked for
+     */
+    public synchronized Duration onThrottled(Duration retryAfter) {
+        throttledCount.incrementAndGet();
+        final long now = nanoTime.getAsLong();
+        if (successesSinceThrottle > 0) {
+            burst = Math.min(maxBurst, successesSinceThrottle);
+        }
+        successesSinceThrottle = 0;
+        if (!recovering) {
+            recovering = true;
+            throttledSinceNanos = now;
+        }
+
+        final Duration cooldown;
+        if (retryAfter != null) {
+            cooldown = retryAfter.compareTo(maxCooldown) > 0 ? maxCooldown : retryAfter;
+        } else {
+            cooldown = nextCooldown;
+            final var doubled = nextCooldown.multipliedBy(2);
+            nextCooldown = doubled.compareTo(maxCooldown) > 0 ? maxCooldown : doubled;
+        }
+        tokens = 0;
+        lastRefillNanos = now;
+        if (now + cooldown.toNanos() - blockedUntilNanos > 0) {
+            blockedUntilNanos = now + cooldown.toNanos();
+        }
+        return cooldown;
+    }
+
+    /**
+     * @return time until the limiter expects to admit the next request
+     */
+    public synchronized Duration getRetryAfter() {
+        final long now = nanoTime.getAsLong();
+        if (blockedUntilNanos - now > 0) {
+            return Duration.ofNanos(blockedUntilNanos - now);
+        }
+        refill(now);
+        return tokens >= 1 ? Duration.ZERO : Duration.ofNanos((long) Math.ceil((1 - tokens) / refillPerNano));
+    }
+
+    public void recordRetry() {
+        retriedCount.incrementAndGet();
+    }
+
+    public void recordShed() {
+        shedCount.incrementAndGet();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    public long getRetriedCount() {
+        return retriedCount.get();
+    }
+
+    public long getShedCount() {
+        return shedCount.get();
+    }
+
+    public synchronized double getBurst() {
+        return burst;
+    }
+
+    public synchronized double getRefillPerSecond() {
+        return refillPerNano * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Non-blocking admission check for callers that schedule their own waiting.
+     *
+     * @return {@code 0} if a permit was taken, otherwise the nanoseconds until one is expected to be available
+     */
+    synchronized long tryAcquire() {
+        final long now = nanoTime.getAsLong();
+        if (blockedUntilNanos - now > 0) {
+            return blockedUntilNanos - now;
+        }
+        refill(now);
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano));
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * refillPerNano);
+        lastRefillNanos = now;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import java.time.Duration;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking counterpart of {@link UpstreamRateLimitInterceptor} for the reactive client. Waiting for a permit and
+ * backing off after a 429 are scheduled as delays instead of parking the calling thread, and both clients share the
+ * same {@link AdaptiveRateLimiter}.
+ */
+@Slf4j
+public class ReactiveUpstreamRateLimitFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final Duration maxQueueWait;
+    private final int maxRetries;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    public ReactiveUpstreamRateLimitFilter(
+            @NonNull AdaptiveRateLimiter rateLimiter,
+            @NonNull Duration maxQueueWait,
+            int maxRetries,
+            @NonNull Duration backoffBase,
+            @NonNull Duration backoffMax) {
+        this.rateLimiter = rateLimiter;
+        this.maxQueueWait = maxQueueWait;
+        this.maxRetries = maxRetries;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> acquirePermit(System.nanoTime() + maxQueueWait.toNanos()))
+                .then(Mono.defer(() -> UpstreamExchangeTimer.timeExchange(next.exchange(request))))
+                .flatMap(response -> {
+                    if (response.statusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                        rateLimiter.onSuccess();
+                        return Mono.just(response);
+                    }
+                    rateLimiter.onThrottled(UpstreamRateLimitInterceptor.parseRetryAfter(
+                            response.headers().asHttpHeaders()));
+                    return response.releaseBody().then(Mono.<ClientResponse>error(new ThrottledException()));
+                })
+                .retryWhen(Retry.backoff(maxRetries, backoffBase)
+                        .maxBackoff(backoffMax)
+                        .jitter(1.0)
+                        .filter(ThrottledException.class::isInstance)
+                        .doBeforeRetry(signal -> {
+                            rateLimiter.recordRetry();
+                            log.debug("Throttled on {} {}, retrying", request.method(), request.url());
+                        })
+                        .onRetryExhaustedThrow((spec, signal) -> new UpstreamRateLimitedException(
+                                UpstreamRateLimitedException.DEFAULT_MESSAGE, rateLimiter.getRetryAfter())));
+    }
+
+    private Mono<Void> acquirePermit(long deadlineNanos) {
+        final long waitNanos = rateLimiter.tryAcquire();
+        if (waitNanos == 0) {
+            return Mono.empty();
+        }
+        if (System.nanoTime() + waitNanos > deadlineNanos) {
+            rateLimiter.recordShed();
+            return Mono.error(new UpstreamRateLimitedException(
+                    UpstreamRateLimitedException.DEFAULT_MESSAGE, rateLimiter.getRetryAfter()));
+        }
+        return Mono.delay(Duration.ofNanos(waitNanos)).then(Mono.defer(() -> acquirePermit(deadlineNanos)));
+    }
+
+    private static final class ThrottledException extends RuntimeException {
+
+        ThrottledException() {
+            super("Throttled by upstream", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+
+/**
+ * Jackson converter for the mock server client that times reading each response body into
+ * {@code employee.upstream.decode}, tagged with the simple name of the target type such as
+ * {@code Response<List<Employee>>} and with the wire format, {@code json} or {@code smile}. Bodies are parsed as they
+ * stream in, so the timing covers receiving the body as well as decoding it; the time to the response headers is not
+ * included.
+ */
+public class TimedJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    static final String DECODE = "employee.upstream.decode";
+
+    private static final Pattern PACKAGE_PREFIX = Pattern.compile("[\\w$]+\\.");
+
+    private final MeterRegistry meterRegistry;
+    private final String format;
+    private final boolean writable;
+    private final Map<Type, Timer> timers = new ConcurrentHashMap<>();
+
+    private TimedJacksonHttpMessageConverter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            boolean writable,
+            MediaType... supportedMediaTypes) {
+        super(objectMapper, supportedMediaTypes);
+        this.meterRegistry = meterRegistry;
+        this.format = objectMapper.getFactory().getFormatName().toLowerCase(Locale.ROOT);
+        this.writable = writable;
+    }
+
+    /**
+     * Reads and writes {@code application/json} and {@code application/*+json}, like the converter it replaces.
+     */
+    public static TimedJacksonHttpMessageConverter json(
+            @NonNull ObjectMapper objectMapper, @NonNull MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(
+                objectMapper, meterRegistry, true, MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    /**
+     * Reads {@link #APPLICATION_SMILE}; {@code smileMapper} must be backed by a Smile factory. It never writes, so
+     * request bodies fall through to the JSON converter and a server that cannot read Smile still accepts them.
+     */
+    public static TimedJacksonHttpMessageConverter smile(
+            @NonNull ObjectMapper smileMapper, @NonNull MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(smileMapper, meterRegistry, false, APPLICATION_SMILE);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return writable && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return writable && super.canWrite(type, clazz, mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        final var sample = Timer.start(meterRegistry);
+        try {
+            return super.read(type, contextClass, inputMessage);
+        } finally {
+            sample.stop(timers.computeIfAbsent(type, this::timer));
+        }
+    }
+
+    private Timer timer(Type type) {
+        return Timer.builder(DECODE)
+                .description("Reading and decoding mock server response bodies")
+                .tag("type", PACKAGE_PREFIX.matcher(type.getTypeName()).replaceAll(""))
+                .tag("format", format)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.api.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Adds up the time one upstream call spends in HTTP exchanges with the mock server. The time it waits for a rate limit
+ * permit or backs off after a 429 is left out. {@link UpstreamRateLimitInterceptor} and
+ * {@link ReactiveUpstreamRateLimitFilter} time every exchange they send, up to the response status and headers.
+ *
+ * <p>A blocking call finds its timer on the current thread and a reactive call finds it in the subscriber context, so
+ * exchanges outside any timed call are not counted anywhere.
+ */
+public final class UpstreamExchangeTimer {
+
+    private static final ThreadLocal<UpstreamExchangeTimer> CURRENT = new ThreadLocal<>();
+    private static final Class<UpstreamExchangeTimer> CONTEXT_KEY = UpstreamExchangeTimer.class;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    /**
+     * Runs {@code call} on this thread with this timer collecting its exchanges.
+     */
+    public <T> T time(@NonNull Supplier<T> call) {
+        final var previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public <T> Mono<T> time(@NonNull Mono<T> call) {
+        return call.contextWrite(Context.of(CONTEXT_KEY, this));
+    }
+
+    public <T> Flux<T> time(@NonNull Flux<T> call) {
+        return call.contextWrite(Context.of(CONTEXT_KEY, this));
+    }
+
+    /**
+     * Whether any exchange was sent, successful or not.
+     */
+    public boolean hasExchanged() {
+        return exchanges.get() > 0;
+    }
+
+    public int getExchangeCount() {
+        return exchanges.get();
+    }
+
+    public Duration getElapsed() {
+        return Duration.ofNanos(nanos.get());
+    }
+
+    static void record(long startNanos) {
+        final var timer = CURRENT.get();
+        if (timer != null) {
+            timer.add(startNanos);
+        }
+    }
+
+    static <T> Mono<T> timeExchange(Mono<T> exchange) {
+        return Mono.deferContextual(context -> {
+            final UpstreamExchangeTimer timer = context.getOrDefault(CONTEXT_KEY, null);
+            if (timer == null) {
+                return exchange;
+            }
+            final long start = System.nanoTime();
+            return exchange.doOnSuccess(ignored -> timer.add(start)).doOnError(ignored -> timer.add(start));
+        });
+    }
+
+    private void add(long startNanos) {
+        nanos.addAndGet(System.nanoTime() - startNanos);
+        exchanges.incrementAndGet();
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Client-side admission control for calls to the mock server. Each request takes a permit from an
+ * {@link AdaptiveRateLimiter}; requests that cannot get one within {@code maxQueueWait} are shed without being sent.
+ * Throttled (429) responses feed the limiter and are retried up to {@code maxRetries} times with full-jitter
+ * exponential backoff. When retries are exhausted the last 429 is returned to the caller unchanged. Each exchange sent
+ * is reported to the caller's {@link UpstreamExchangeTimer}.
+ */
+@Slf4j
+public class UpstreamRateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    @Getter
+    private final AdaptiveRateLimiter rateLimiter;
+
+    private final Duration maxQueueWait;
+    private final int maxRetries;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+
+    public UpstreamRateLimitInterceptor(
+            @NonNull AdaptiveRateLimiter rateLimiter,
+            @NonNull Duration maxQueueWait,
+            int maxRetries,
+            @NonNull Duration backoffBase,
+            @NonNull Duration backoffMax) {
+        this.rateLimiter = rateLimiter;
+        this.maxQueueWait = maxQueueWait;
+        this.maxRetries = maxRetries;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        for (int attempt = 0; ; attempt++) {
+            if (!acquirePermit()) {
+                rateLimiter.recordShed();
+                final var retryAfter = rateLimiter.getRetryAfter();
+                log.warn(
+                        "Shedding {} {} - upstream budget exhausted for {}",
+                        request.getMethod(),
+                        request.getURI(),
+                        retryAfter);
+                throw new UpstreamRateLimitedException(UpstreamRateLimitedException.DEFAULT_MESSAGE, retryAfter);
+            }
+
+            final var response = execute(request, body, execution);
+            if (response.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+                rateLimiter.onSuccess();
+                return response;
+            }
+
+            final var cooldown = rateLimiter.onThrottled(parseRetryAfter(response.getHeaders()));
+            if (attempt >= maxRetries) {
+                log.warn("Throttled on {} {} after {} retries", request.getMethod(), request.getURI(), attempt);
+                return response;
+            }
+
+            response.close();
+            rateLimiter.recordRetry();
+            log.debug(
+                    "Throttled on {} {}, retrying after cooldown {}", request.getMethod(), request.getURI(), cooldown);
+            sleep(backoff(attempt));
+        }
+    }
+
+    public long getThrottledCount() {
+        return rateLimiter.getThrottledCount();
+    }
+
+    public long getRetriedCount() {
+        return rateLimiter.getRetriedCount();
+    }
+
+    public long getShedCount() {
+        return rateLimiter.getShedCount();
+    }
+
+    private static ClientHttpResponse execute(
+            HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            UpstreamExchangeTimer.record(start);
+        }
+    }
+
+    private boolean acquirePermit() throws IOException {
+        try {
+            return rateLimiter.acquire(maxQueueWait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for upstream rate limit permit");
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        final long ceiling = Math.min(backoffMax.toNanos(), backoffBase.toNanos() << Math.min(attempt, 20));
+        return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    private static void sleep(Duration duration) throws IOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off from upstream rate limit");
+        }
+    }
+
+    /**
+     * @return the delay announced by a {@code Retry-After} header, or {@code null} when absent or unparseable
+     */
+    public static Duration parseRetryAfter(HttpHeaders headers) {
+        if (headers == null) {
+            return null;
+        }
+        final var value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException ignored) {
+            // Not delta-seconds; fall through to HTTP-date.
+        }
+        try {
+            final var retryAt = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            final var delay = Duration.between(ZonedDateTime.now(retryAt.getZone()), retryAt);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring unparseable Retry-After header: {}", value);
+            return null;
+        }
+    }
+}
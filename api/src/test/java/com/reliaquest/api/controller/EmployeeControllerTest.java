@@ -1,17 +1,33 @@
 package com.reliaquest.api.controller;
 
+import static org.hamcrest.Matchers.stringContainsInOrder;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.reliaquest.api.exception.TooManyIdsException;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeLookupService;
+import com.reliaquest.api.service.EmployeeQueryService;
+import com.reliaquest.api.service.EmployeeRoster;
+import com.reliaquest.api.service.EmployeeRosterCache;
 import com.reliaquest.api.service.EmployeeService;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -20,10 +36,16 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.client.HttpClientErrorException;
 
 @WebMvcTest(EmployeeController.class)
+@Import(EmployeeQueryService.class)
 class EmployeeControllerTest {
 
     @Autowired
@@ -32,6 +54,12 @@ class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    @MockBean
+    private EmployeeLookupService lookupService;
+
+    @MockBean
+    private EmployeeRosterCache rosterCache;
+
     private Employee employee1;
     private Employee employee2;
     private Employee employee3;
@@ -71,7 +99,7 @@ class EmployeeControllerTest {
 
     @Test
     void getAllEmployees_ShouldReturnListOfEmployees() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(employees));
 
         mockMvc.perform(get("/api/v1/employee"))
                 .andExpect(status().isOk())
@@ -82,9 +110,53 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$[2].employee_name").value("Bob Johnson"));
     }
 
+    @Test
+    void streamAllEmployees_ShouldWriteOneEmployeePerLine() throws Exception {
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(employees));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/employee").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content()
+                        .string(stringContainsInOrder(
+                                "{\"id\":\"" + employee1.getId() + "\",\"employee_name\":\"John Doe\"",
+                                "}\n{\"id\":\"" + employee2.getId() + "\",\"employee_name\":\"Jane Smith\"",
+                                "}\n{\"id\":\"" + employee3.getId() + "\",\"employee_name\":\"Bob Johnson\"",
+                                "}\n")));
+    }
+
+    @Test
+    void getAllEmployees_ShouldReturn429WithRetryAfter_WhenUpstreamIsRateLimiting() throws Exception {
+        when(rosterCache.getRoster())
+                .thenThrow(new UpstreamRateLimitedException(
+                        UpstreamRateLimitedException.DEFAULT_MESSAGE, Duration.ofSeconds(42)));
+
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "42"))
+                .andExpect(jsonPath("$.error").value(UpstreamRateLimitedException.DEFAULT_MESSAGE));
+    }
+
+    @Test
+    void getEmployeeById_ShouldReturn503WithRetryAfter_WhenUpstreamIsUnavailable() throws Exception {
+        String employeeId = employee1.getId().toString();
+        String message = "Employee server is unavailable. Please try again later.";
+        when(employeeService.getEmployeeById(employeeId))
+                .thenThrow(new UpstreamUnavailableException(message, Duration.ofMillis(2500)));
+
+        mockMvc.perform(get("/api/v1/employee/" + employeeId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(jsonPath("$.error").value(message));
+    }
+
     @Test
     void getEmployeesByNameSearch_ShouldReturnMatchingEmployees() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(employees));
 
         mockMvc.perform(get("/api/v1/employee/search/John"))
                 .andExpect(status().isOk())
@@ -96,7 +168,7 @@ class EmployeeControllerTest {
 
     @Test
     void getEmployeesByNameSearch_ShouldReturnEmptyList_WhenNoMatches() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(employees));
 
         mockMvc.perform(get("/api/v1/employee/search/Alice"))
                 .andExpect(status().isOk())
@@ -106,7 +178,7 @@ class EmployeeControllerTest {
 
     @Test
     void getEmployeesByNameSearch_ShouldBeCaseInsensitive() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(employees));
 
         mockMvc.perform(get("/api/v1/employee/search/jane"))
                 .andExpect(status().isOk())
@@ -129,7 +201,7 @@ class EmployeeControllerTest {
 
     @Test
     void getHighestSalaryOfEmployees_ShouldReturnHighestSalary() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(employees));
 
         mockMvc.perform(get("/api/v1/employee/highestSalary"))
                 .andExpect(status().isOk())
@@ -138,7 +210,7 @@ class EmployeeControllerTest {
 
     @Test
     void getHighestSalaryOfEmployees_ShouldReturnZero_WhenNoEmployees() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(List.of());
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(List.of()));
 
         mockMvc.perform(get("/api/v1/employee/highestSalary"))
                 .andExpect(status().isOk())
@@ -147,7 +219,7 @@ class EmployeeControllerTest {
 
     @Test
     void getTopTenHighestEarningEmployeeNames_ShouldReturnTopEarners() throws Exception {
-        when(employeeService.getAllEmployees()).thenReturn(employees);
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(employees));
 
         mockMvc.perform(get("/api/v1/employee/topTenHighestEarningEmployeeNames"))
                 .andExpect(status().isOk())
@@ -192,24 +264,94 @@ class EmployeeControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.employee_name").value("Alice Brown"))
                 .andExpect(jsonPath("$.employee_salary").value(80000));
+
+        verify(rosterCache).recordCreated(created);
     }
 
     @Test
-    void deleteEmployeeById_ShouldReturnDeletedEmployeeName() throws Exception {
+    void createEmployees_ShouldReturnPerItemResultsAndRecordCreated() throws Exception {
+        when(employeeService.createAll(anyList()))
+                .thenReturn(List.of(
+                        BatchItemResult.succeeded(employee1), BatchItemResult.failed("age must not be null")));
+
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(
+                                """
+                                [
+                                    {"name": "John Doe", "salary": 75000, "age": 30, "title": "Software Engineer"},
+                                    {"name": "Jane Smith", "salary": 95000, "title": "Senior Developer"}
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data.employee_name").value("John Doe"))
+                .andExpect(jsonPath("$[1].error").value("age must not be null"));
+
+        verify(rosterCache).recordCreated(List.of(employee1));
+    }
+
+    @Test
+    void deleteEmployeesById_ShouldReturnPerItemResultsAndRecordDeleted() throws Exception {
+        final var ids = List.of(employee1.getId().toString(), "not-a-uuid");
+        when(employeeService.deleteAllById(ids))
+                .thenReturn(List.of(
+                        BatchItemResult.succeeded(employee1),
+                        BatchItemResult.failed("Invalid employee id: not-a-uuid")));
+
+        mockMvc.perform(delete("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"%s\", \"not-a-uuid\"]".formatted(employee1.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data.id").value(employee1.getId().toString()))
+                .andExpect(jsonPath("$[1].error").value("Invalid employee id: not-a-uuid"));
+
+        verify(rosterCache).recordDeleted(List.of(employee1));
+    }
+
+    @Test
+    void getEmployeesById_ShouldReturnPerItemResultsInIdOrder() throws Exception {
+        final var ids = List.of(employee2.getId().toString(), employee1.getId().toString());
+        when(lookupService.findAllById(ids))
+                .thenReturn(List.of(BatchItemResult.succeeded(employee2), BatchItemResult.succeeded(employee1)));
+
+        mockMvc.perform(post("/api/v1/employee/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"%s\", \"%s\"]".formatted(employee2.getId(), employee1.getId())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data.employee_name").value("Jane Smith"))
+                .andExpect(jsonPath("$[1].data.employee_name").value("John Doe"));
+    }
+
+    @Test
+    void getEmployeesById_ShouldReturn400_WhenTooManyIds() throws Exception {
+        when(lookupService.findAllById(anyList())).thenThrow(new TooManyIdsException(1000));
+
+        mockMvc.perform(post("/api/v1/employee/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"%s\"]".formatted(employee1.getId())))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("at most 1000 ids per lookup"));
+    }
+
+    @Test
+    void deleteEmployeeById_ShouldDeleteByIdWithoutLookup() throws Exception {
         String employeeId = employee1.getId().toString();
-        when(employeeService.getEmployeeById(employeeId)).thenReturn(employee1);
-        when(employeeService.delete(any())).thenReturn("John Doe");
+        when(employeeService.deleteById(employeeId)).thenReturn(employee1);
 
         mockMvc.perform(delete("/api/v1/employee/{id}", employeeId))
                 .andExpect(status().isOk())
                 .andExpect(content().string("John Doe"));
+
+        verify(employeeService, never()).getEmployeeById(any());
+        verify(rosterCache).recordDeleted(employee1);
     }
 
     @Test
     void deleteEmployeeById_ShouldReturn404_WhenEmployeeNotFound() throws Exception {
         String employeeId = UUID.randomUUID().toString();
-        when(employeeService.getEmployeeById(employeeId))
-                .thenThrow(new RuntimeException("Employee not found with ID: " + employeeId));
+        HttpClientErrorException notFoundException =
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null);
+        when(employeeService.deleteById(employeeId)).thenThrow(notFoundException);
 
         mockMvc.perform(delete("/api/v1/employee/{id}", employeeId))
                 .andExpect(status().isNotFound())
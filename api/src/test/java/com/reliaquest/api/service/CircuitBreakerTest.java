@@ -0,0 +1,129 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+    private static final Duration SLOW_CALL_THRESHOLD = Duration.ofSeconds(1);
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private AtomicLong now;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        circuitBreaker = new CircuitBreaker(10, 4, 0.5, SLOW_CALL_THRESHOLD, OPEN_DURATION, 2, now::get);
+    }
+
+    @Test
+    void onResult_ShouldStayClosed_UntilMinimumCallsAreRecorded() {
+        call(true);
+        call(true);
+        call(true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        call(true);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    void onResult_ShouldCountSlowCallsAsFailures() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onResult(SLOW_CALL_THRESHOLD.plusMillis(1), false);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void onResult_ShouldOnlyConsiderTheLastWindowOfCalls() {
+        for (int i = 0; i < 6; i++) {
+            call(false);
+            call(false);
+            call(true);
+        }
+
+        // Each window of 10 holds at most 4 failures, below the 50% threshold.
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void tryAcquirePermission_ShouldRejectWhileOpen_AndReportRetryAfter() {
+        open();
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(Duration.ofSeconds(6), circuitBreaker.getRetryAfter());
+        assertEquals(1, circuitBreaker.getRejectedCount());
+    }
+
+    @Test
+    void tryAcquirePermission_ShouldAllowLimitedTrialCalls_OnceOpenDurationElapses() {
+        open();
+        now.addAndGet(OPEN_DURATION.toNanos());
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+
+        circuitBreaker.releasePermission();
+        assertTrue(circuitBreaker.tryAcquirePermission());
+    }
+
+    @Test
+    void onResult_ShouldClose_WhenAllTrialCallsSucceed() {
+        open();
+        now.addAndGet(OPEN_DURATION.toNanos());
+
+        call(false);
+        call(false);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(Duration.ZERO, circuitBreaker.getRetryAfter());
+
+        // The window starts afresh, so three failures are again below the minimum.
+        call(true);
+        call(true);
+        call(true);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void onResult_ShouldReopen_WhenATrialCallFails() {
+        open();
+        now.addAndGet(OPEN_DURATION.toNanos());
+
+        call(false);
+        call(true);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN));
+        assertEquals(OPEN_DURATION, circuitBreaker.getRetryAfter());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void call(boolean failed) {
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onResult(FAST, failed);
+    }
+}
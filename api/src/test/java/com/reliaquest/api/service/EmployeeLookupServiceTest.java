@@ -0,0 +1,148 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.exception.TooManyIdsException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeLookupServiceTest {
+
+    private static final int PARALLELISM = 4;
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeRosterCache rosterCache;
+
+    private ExecutorService executor;
+    private EmployeeLookupService lookupService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(PARALLELISM);
+        lookupService = new EmployeeLookupService(employeeService, rosterCache, 10, executor);
+        lenient().when(rosterCache.findCached(any())).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findAllById_ShouldServeCachedIdsLocallyAndFetchOnlyMisses() {
+        final var cached = employee("John Doe");
+        final var fetched = employee("Jane Smith");
+        when(rosterCache.findCached(cached.getId())).thenReturn(Optional.of(cached));
+        when(employeeService.getEmployeeById(fetched.getId().toString())).thenReturn(fetched);
+
+        final var results = lookupService.findAllById(
+                List.of(fetched.getId().toString(), cached.getId().toString()));
+
+        assertSame(fetched, results.get(0).data());
+        assertSame(cached, results.get(1).data());
+        verify(employeeService, never()).getEmployeeById(cached.getId().toString());
+        assertEquals(1, lookupService.getCacheHitCount());
+        assertEquals(1, lookupService.getUpstreamFetchCount());
+    }
+
+    @Test
+    void findAllById_ShouldFetchMissesConcurrently() {
+        final var inFlight = new CountDownLatch(PARALLELISM);
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; i < PARALLELISM; i++) {
+            final var employee = employee("Employee " + i);
+            ids.add(employee.getId().toString());
+            when(employeeService.getEmployeeById(employee.getId().toString())).thenAnswer(invocation -> {
+                // Only returns once every fetch has started, so a sequential lookup would time out here.
+                inFlight.countDown();
+                assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+                return employee;
+            });
+        }
+
+        final var results = lookupService.findAllById(ids);
+
+        for (int i = 0; i < PARALLELISM; i++) {
+            assertEquals(ids.get(i), results.get(i).data().getId().toString());
+        }
+    }
+
+    @Test
+    void findAllById_ShouldReportPerIdErrors_WithoutFailingOthers() {
+        final var found = employee("John Doe");
+        final var missingId = UUID.randomUUID().toString();
+        final var failingId = UUID.randomUUID().toString();
+        when(employeeService.getEmployeeById(found.getId().toString())).thenReturn(found);
+        when(employeeService.getEmployeeById(missingId))
+                .thenThrow(HttpClientErrorException.create(
+                        HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null));
+        when(employeeService.getEmployeeById(failingId))
+                .thenThrow(new RuntimeException("Error fetching employee from server"));
+
+        final var results =
+                lookupService.findAllById(List.of("not-a-uuid", missingId, found.getId().toString(), failingId));
+
+        assertEquals(BatchItemResult.failed("Invalid employee id: not-a-uuid"), results.get(0));
+        assertEquals(BatchItemResult.failed("Employee not found with ID: " + missingId), results.get(1));
+        assertSame(found, results.get(2).data());
+        assertNull(results.get(2).error());
+        assertEquals(BatchItemResult.failed("Error fetching employee from server"), results.get(3));
+    }
+
+    @Test
+    void findAllById_ShouldFetchRepeatedIdsOnce() {
+        final var employee = employee("John Doe");
+        final var id = employee.getId().toString();
+        when(employeeService.getEmployeeById(id)).thenReturn(employee);
+
+        final var results = lookupService.findAllById(List.of(id, id, id));
+
+        assertEquals(3, results.size());
+        results.forEach(result -> assertSame(employee, result.data()));
+        verify(employeeService, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void findAllById_ShouldRejectTooManyIds() {
+        final var ids = Collections.nCopies(11, UUID.randomUUID().toString());
+
+        assertThrows(TooManyIdsException.class, () -> lookupService.findAllById(ids));
+        verify(employeeService, never()).getEmployeeById(any());
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder().id(UUID.randomUUID()).name(name).salary(75000).build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeQueryServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeRosterCache rosterCache;
+
+    private final Employee john = employee("John Doe", 75000);
+    private final Employee jane = employee("Jane Smith", 95000);
+
+    @Test
+    void localMode_ShouldAnswerFromRosterSnapshot() {
+        final var queryService = new EmployeeQueryService(employeeService, rosterCache, QueryMode.LOCAL);
+        when(rosterCache.getRoster()).thenReturn(EmployeeRoster.of(List.of(john, jane)));
+
+        assertEquals(List.of(jane), queryService.searchByName("jane"));
+        assertEquals(95000, queryService.getHighestSalary());
+        assertEquals(List.of("Jane Smith", "John Doe"), queryService.getTopEarningNames(10));
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void pushdownMode_ShouldAskServerWithoutReadingRoster() {
+        final var queryService = new EmployeeQueryService(employeeService, rosterCache, QueryMode.PUSHDOWN);
+        when(employeeService.searchByName("jane")).thenReturn(List.of(jane));
+        when(employeeService.getHighestSalary()).thenReturn(95000);
+        when(employeeService.getTopEarners(10)).thenReturn(List.of(jane, employee(null, 80000), john));
+
+        assertEquals(List.of(jane), queryService.searchByName("jane"));
+        assertEquals(95000, queryService.getHighestSalary());
+        assertEquals(List.of("Jane Smith", "John Doe"), queryService.getTopEarningNames(10));
+        verifyNoInteractions(rosterCache);
+    }
+
+    private static Employee employee(String name, Integer salary) {
+        return Employee.builder().id(UUID.randomUUID()).name(name).salary(salary).build();
+    }
+}
@@ -0,0 +1,384 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeRosterCacheTest {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(5);
+    private static final Duration MAX_STALE = Duration.ofMinutes(5);
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(5);
+
+    @Mock
+    private EmployeeService employeeService;
+
+    private MutableClock clock;
+    private List<Runnable> scheduledRefreshes;
+    private EmployeeRosterCache rosterCache;
+
+    private Employee employee1;
+    private Employee employee2;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        scheduledRefreshes = new ArrayList<>();
+        rosterCache = new EmployeeRosterCache(
+                employeeService,
+                true,
+                TTL,
+                REFRESH_AHEAD,
+                MAX_STALE,
+                RETRY_BACKOFF,
+                RosterFetchMode.FULL,
+                500,
+                clock,
+                scheduledRefreshes::add);
+
+        employee1 = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("John Doe")
+                .salary(75000)
+                .build();
+        employee2 = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("Jane Smith")
+                .salary(95000)
+                .build();
+    }
+
+    @Test
+    void getRoster_ShouldLoadOnceAndServeFromSnapshotWhileFresh() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1, employee2));
+
+        EmployeeRoster first = rosterCache.getRoster();
+        clock.advance(Duration.ofSeconds(10));
+        EmployeeRoster second = rosterCache.getRoster();
+
+        assertSame(first, second);
+        assertEquals(2, second.size());
+        assertTrue(scheduledRefreshes.isEmpty());
+        verify(employeeService, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void getRoster_ShouldRefreshAheadOfExpiryInBackground() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1), List.of(employee1, employee2));
+
+        EmployeeRoster initial = rosterCache.getRoster();
+        clock.advance(TTL.minus(REFRESH_AHEAD));
+
+        assertSame(initial, rosterCache.getRoster());
+        assertSame(initial, rosterCache.getRoster());
+        assertEquals(1, scheduledRefreshes.size());
+
+        scheduledRefreshes.remove(0).run();
+
+        assertEquals(2, rosterCache.getRoster().size());
+        verify(employeeService, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void getRoster_ShouldServeStaleSnapshotWhileRevalidating() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1));
+
+        EmployeeRoster initial = rosterCache.getRoster();
+        clock.advance(TTL.plus(Duration.ofMinutes(1)));
+
+        assertSame(initial, rosterCache.getRoster());
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    void getRoster_ShouldLoadSynchronously_WhenSnapshotIsBeyondMaxStale() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1), List.of(employee1, employee2));
+
+        rosterCache.getRoster();
+        clock.advance(TTL.plus(MAX_STALE).plusSeconds(1));
+
+        assertEquals(2, rosterCache.getRoster().size());
+        assertTrue(scheduledRefreshes.isEmpty());
+    }
+
+    @Test
+    void getRoster_ShouldServeSnapshotBeyondMaxStale_WhenServerIsUnavailable() {
+        when(employeeService.getAllEmployees())
+                .thenReturn(List.of(employee1))
+                .thenThrow(new UpstreamUnavailableException(
+                        "Employee server is unavailable. Please try again later.", Duration.ofSeconds(10)));
+
+        EmployeeRoster initial = rosterCache.getRoster();
+        clock.advance(TTL.plus(MAX_STALE).plusSeconds(1));
+
+        assertSame(initial, rosterCache.getRoster());
+    }
+
+    @Test
+    void getRoster_ShouldKeepServingSnapshotAndBackOff_WhenRefreshFails() {
+        when(employeeService.getAllEmployees())
+                .thenReturn(List.of(employee1))
+                .thenThrow(new RuntimeException("Server rate limit exceeded. Please try again later."));
+
+        EmployeeRoster initial = rosterCache.getRoster();
+        clock.advance(TTL);
+        rosterCache.getRoster();
+        scheduledRefreshes.remove(0).run();
+
+        assertSame(initial, rosterCache.getRoster());
+        assertTrue(scheduledRefreshes.isEmpty());
+
+        clock.advance(RETRY_BACKOFF);
+        rosterCache.getRoster();
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    void getRoster_ShouldPropagateFailure_WhenColdLoadFails() {
+        when(employeeService.getAllEmployees()).thenThrow(new RuntimeException("Connection refused"));
+
+        assertThrows(RuntimeException.class, () -> rosterCache.getRoster());
+    }
+
+    @Test
+    void findCached_ShouldOnlyServeLoadedSnapshotWithinMaxStale() {
+        assertTrue(rosterCache.findCached(employee1.getId()).isEmpty());
+        verify(employeeService, never()).getAllEmployees();
+
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1));
+        rosterCache.getRoster();
+
+        assertSame(employee1, rosterCache.findCached(employee1.getId()).orElseThrow());
+        assertTrue(rosterCache.findCached(employee2.getId()).isEmpty());
+
+        clock.advance(TTL.plus(MAX_STALE).plusSeconds(1));
+        assertTrue(rosterCache.findCached(employee1.getId()).isEmpty());
+        assertTrue(scheduledRefreshes.isEmpty());
+    }
+
+    @Test
+    void getRoster_ShouldReuseRoster_WhenServiceReturnsUnchangedListing() {
+        // The service hands back the very same list when the server answers 304 Not Modified.
+        final var listing = List.of(employee1, employee2);
+        when(employeeService.getAllEmployees()).thenReturn(listing);
+
+        EmployeeRoster initial = rosterCache.getRoster();
+        clock.advance(TTL.plus(MAX_STALE).plusSeconds(1));
+
+        assertSame(initial, rosterCache.getRoster());
+        verify(employeeService, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void recordCreated_ShouldWriteThroughAndRevalidate() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1));
+
+        rosterCache.getRoster();
+        rosterCache.recordCreated(employee2);
+
+        EmployeeRoster roster = rosterCache.getRoster();
+        assertEquals(2, roster.size());
+        assertTrue(roster.findById(employee2.getId()).isPresent());
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    void recordDeleted_ShouldWriteThroughAndRevalidate() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1, employee2));
+
+        rosterCache.getRoster();
+        rosterCache.recordDeleted(employee1);
+
+        EmployeeRoster roster = rosterCache.getRoster();
+        assertEquals(1, roster.size());
+        assertTrue(roster.findById(employee1.getId()).isEmpty());
+        assertEquals(1, scheduledRefreshes.size());
+    }
+
+    @Test
+    void refresh_ShouldReplayLocalWrite_WhenItRacesTheFetch() {
+        final var employee3 = Employee.builder()
+                .id(UUID.randomUUID())
+                .name("Created Elsewhere")
+                .salary(60000)
+                .build();
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1)).thenAnswer(invocation -> {
+            rosterCache.recordCreated(employee2);
+            return List.of(employee1, employee3);
+        });
+
+        rosterCache.getRoster();
+        clock.advance(TTL);
+        rosterCache.getRoster();
+        scheduledRefreshes.remove(0).run();
+
+        EmployeeRoster roster = rosterCache.getRoster();
+        assertEquals(3, roster.size());
+        assertTrue(roster.findById(employee2.getId()).isPresent());
+        assertTrue(roster.findById(employee3.getId()).isPresent());
+    }
+
+    @Test
+    void getRoster_ShouldReplayLocalWrite_WhenItRacesTheColdLoad() {
+        when(employeeService.getAllEmployees()).thenAnswer(invocation -> {
+            rosterCache.recordDeleted(employee1);
+            return List.of(employee1, employee2);
+        });
+
+        EmployeeRoster roster = rosterCache.getRoster();
+
+        assertEquals(List.of(employee2), roster.getEmployees());
+        clock.advance(Duration.ofSeconds(1));
+        assertSame(roster, rosterCache.getRoster());
+        assertTrue(scheduledRefreshes.isEmpty());
+    }
+
+    @Test
+    void getRoster_ShouldLoadSynchronously_WhenLocalWritesKeepComingPastMaxStale() {
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1), List.of(employee1, employee2));
+
+        rosterCache.getRoster();
+        // The background refreshes never run, so only max-stale can bring in the server's changes.
+        for (Duration elapsed = Duration.ZERO;
+                elapsed.compareTo(TTL.plus(MAX_STALE)) <= 0;
+                elapsed = elapsed.plusSeconds(10)) {
+            rosterCache.recordCreated(Employee.builder().id(UUID.randomUUID()).build());
+            clock.advance(Duration.ofSeconds(10));
+        }
+
+        EmployeeRoster roster = rosterCache.getRoster();
+        assertTrue(roster.findById(employee2.getId()).isPresent());
+        verify(employeeService, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void getRoster_ShouldAlwaysFetch_WhenDisabled() {
+        rosterCache = new EmployeeRosterCache(
+                employeeService,
+                false,
+                TTL,
+                REFRESH_AHEAD,
+                MAX_STALE,
+                RETRY_BACKOFF,
+                RosterFetchMode.FULL,
+                500,
+                clock,
+                scheduledRefreshes::add);
+        when(employeeService.getAllEmployees()).thenReturn(List.of(employee1));
+
+        rosterCache.getRoster();
+        rosterCache.getRoster();
+        rosterCache.recordCreated(employee2);
+
+        verify(employeeService, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void getRoster_ShouldWalkPages_WhenPaging() {
+        rosterCache = new EmployeeRosterCache(
+                employeeService,
+                true,
+                TTL,
+                REFRESH_AHEAD,
+                MAX_STALE,
+                RETRY_BACKOFF,
+                RosterFetchMode.PAGED,
+                1,
+                clock,
+                scheduledRefreshes::add);
+        doAnswer(invocation -> {
+                    Consumer<List<Employee>> pageConsumer = invocation.getArgument(1);
+                    pageConsumer.accept(List.of(employee1));
+                    pageConsumer.accept(List.of(employee2));
+                    return null;
+                })
+                .when(employeeService)
+                .forEachEmployeePage(eq(1), any());
+
+        EmployeeRoster roster = rosterCache.getRoster();
+
+        assertEquals(List.of(employee1, employee2), roster.getEmployees());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    @Test
+    void getRoster_ShouldParseStream_WhenStreaming() {
+        rosterCache = new EmployeeRosterCache(
+                employeeService,
+                true,
+                TTL,
+                REFRESH_AHEAD,
+                MAX_STALE,
+                RETRY_BACKOFF,
+                RosterFetchMode.STREAM,
+                500,
+                clock,
+                scheduledRefreshes::add);
+        when(employeeService.forEachEmployee(any())).thenAnswer(invocation -> {
+            Consumer<Employee> employeeConsumer = invocation.getArgument(0);
+            employeeConsumer.accept(employee1);
+            employeeConsumer.accept(employee2);
+            return 2;
+        });
+
+        EmployeeRoster roster = rosterCache.getRoster();
+
+        assertEquals(List.of(employee1, employee2), roster.getEmployees());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
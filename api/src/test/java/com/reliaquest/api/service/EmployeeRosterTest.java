@@ -0,0 +1,155 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class EmployeeRosterTest {
+
+    @Test
+    void aggregates_ShouldFollowAddsAndRemoves() {
+        final var alice = employee("Alice", 90000);
+        final var bob = employee("Bob", 120000);
+        final var carol = employee("Carol", 90000);
+        final var roster = EmployeeRoster.of(List.of(alice, bob, carol, employee(null, 200000), employee("Dan", null)));
+
+        assertEquals(200000, roster.getHighestSalary());
+        assertEquals(List.of("Bob", "Alice"), roster.getTopEarningNames(2));
+
+        final var erin = employee("Erin", 150000);
+        roster.add(erin);
+        roster.remove(bob.getId());
+        assertEquals(List.of("Erin", "Alice", "Carol"), roster.getTopEarningNames(10));
+
+        roster.add(Employee.builder().id(alice.getId()).name("Alice").salary(10000).build());
+        assertEquals(List.of("Erin", "Carol", "Alice"), roster.getTopEarningNames(10));
+    }
+
+    @Test
+    void highestSalary_ShouldBeZero_WhenNoEmployeeHasSalary() {
+        assertEquals(0, EmployeeRoster.of(List.of(employee("Dan", null))).getHighestSalary());
+        assertEquals(0, EmployeeRankings.highestSalary(List.of(employee("Dan", null))));
+    }
+
+    @Test
+    void rosterIndexAndHeapFallback_ShouldMatchFullSort() {
+        final var random = new Random(42);
+        final List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            employees.add(employee(
+                    random.nextInt(20) == 0 ? null : "employee-" + i,
+                    random.nextInt(20) == 0 ? null : random.nextInt(1_000) * 100));
+        }
+        final List<String> expected = employees.stream()
+                .filter(employee -> Objects.nonNull(employee.getSalary()) && Objects.nonNull(employee.getName()))
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(10)
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+        final int expectedHighest = employees.stream()
+                .filter(employee -> Objects.nonNull(employee.getSalary()))
+                .mapToInt(Employee::getSalary)
+                .max()
+                .orElse(0);
+
+        final var roster = EmployeeRoster.of(employees);
+
+        assertEquals(expected, roster.getTopEarningNames(10));
+        assertEquals(expected, EmployeeRankings.topEarningNames(employees, 10));
+        assertEquals(expectedHighest, roster.getHighestSalary());
+        assertEquals(expectedHighest, EmployeeRankings.highestSalary(employees));
+    }
+
+    @Test
+    void aggregates_ShouldMatchFullSort_AfterManyRemovesAndReplacements() {
+        final var random = new Random(11);
+        final List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            // Few distinct salaries, so ties decide much of the order.
+            employees.add(employee(
+                    random.nextInt(20) == 0 ? null : "employee-" + i,
+                    random.nextInt(20) == 0 ? null : random.nextInt(50) * 1000));
+        }
+        final var roster = EmployeeRoster.of(employees);
+        // Removing two thirds of the roster; replacements keep their place.
+        for (int i = 0; i < employees.size(); i++) {
+            if (i % 3 != 0) {
+                roster.remove(employees.get(i).getId());
+            } else if (i % 7 == 0) {
+                roster.add(Employee.builder()
+                        .id(employees.get(i).getId())
+                        .name("replaced-" + i)
+                        .salary(random.nextInt(50) * 1000)
+                        .build());
+            }
+        }
+        roster.add(employee("newcomer", 49000));
+
+        final var remaining = roster.getEmployees();
+        final List<String> expected = remaining.stream()
+                .filter(employee -> Objects.nonNull(employee.getSalary()) && Objects.nonNull(employee.getName()))
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(100)
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+
+        assertEquals(expected, roster.getTopEarningNames(100));
+        assertEquals(EmployeeRankings.highestSalary(remaining), roster.getHighestSalary());
+    }
+
+    @Test
+    void searchByName_ShouldFollowAddsAndRemoves() {
+        final var john = employee("John Doe", 1);
+        final var jane = employee("Jane Doe", 2);
+        final var roster = EmployeeRoster.of(List.of(john, jane, employee(null, 3)));
+
+        assertEquals(List.of(john, jane), roster.searchByName("DOE"));
+        assertEquals(List.of(jane), roster.searchByName("an"));
+        assertEquals(List.of(), roster.searchByName("smith"));
+
+        final var smith = employee("Jane Smith", 4);
+        roster.add(smith);
+        roster.remove(jane.getId());
+        assertEquals(List.of(smith), roster.searchByName("jane"));
+
+        final var renamed = Employee.builder().id(john.getId()).name("Johnny Smith").build();
+        roster.add(renamed);
+        assertEquals(List.of(renamed, smith), roster.searchByName("smith"));
+        assertEquals(List.of(), roster.searchByName("doe"));
+    }
+
+    @Test
+    void searchByName_ShouldMatchLinearScan() {
+        final var random = new Random(7);
+        final var syllables = List.of("an", "na", "ann", "jo", "hn", "sm", "ith", "do", "e", " ", "Ann", "X");
+        final List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            final var name = new StringBuilder();
+            for (int j = random.nextInt(6); j >= 0; j--) {
+                name.append(syllables.get(random.nextInt(syllables.size())));
+            }
+            employees.add(employee(random.nextInt(50) == 0 ? null : name.toString(), 1));
+        }
+        final var roster = EmployeeRoster.of(employees);
+
+        for (String searchString : List.of("", "a", "AN", "ann", "nna", "john", "smith", "e do", "xx", "anana")) {
+            final List<Employee> expected = employees.stream()
+                    .filter(employee -> Objects.nonNull(employee.getName())
+                            && employee.getName().toLowerCase().contains(searchString.toLowerCase()))
+                    .collect(Collectors.toList());
+            assertEquals(expected, roster.searchByName(searchString), searchString);
+        }
+    }
+
+    private static Employee employee(String name, Integer salary) {
+        return Employee.builder().id(UUID.randomUUID()).name(name).salary(salary).build();
+    }
+}
@@ -2,32 +2,50 @@ package com.reliaquest.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.CreateEmployeeInput;
 import com.reliaquest.api.model.DeleteEmployeeInput;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
@@ -39,6 +57,20 @@ class EmployeeServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private UpstreamMetrics upstreamMetrics = new UpstreamMetrics(meterRegistry);
+
+    @Spy
+    private UpstreamGuard upstreamGuard = new UpstreamGuard(
+            new CircuitBreaker(20, 10, 0.5, Duration.ofSeconds(5), Duration.ofSeconds(10), 3),
+            new Bulkhead("read", 20, Duration.ofMillis(100)),
+            new Bulkhead("write", 10, Duration.ofMillis(100)));
+
     @InjectMocks
     private EmployeeService employeeService;
 
@@ -85,6 +117,29 @@ class EmployeeServiceTest {
         assertEquals("Jane Smith", result.get(1).getName());
     }
 
+    @Test
+    void getAllEmployees_ShouldRevalidateWithETagAndReuseListing_WhenNotModified() {
+        ResponseEntity<Response<List<Employee>>> tagged =
+                ResponseEntity.ok().eTag("\"v1\"").body(Response.handledWith(employees));
+        ResponseEntity<Response<List<Employee>>> notModified =
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(tagged);
+        when(restTemplate.exchange(
+                        anyString(), eq(HttpMethod.GET), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(notModified);
+
+        List<Employee> first = employeeService.getAllEmployees();
+        List<Employee> second = employeeService.getAllEmployees();
+
+        assertSame(first, second);
+        ArgumentCaptor<HttpEntity<Void>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2))
+                .exchange(anyString(), eq(HttpMethod.GET), request.capture(), any(ParameterizedTypeReference.class));
+        assertNull(request.getAllValues().get(0));
+        assertEquals(List.of("\"v1\""), request.getAllValues().get(1).getHeaders().getIfNoneMatch());
+    }
+
     @Test
     void getAllEmployees_ShouldThrowException_WhenResponseIsNull() {
         ResponseEntity<Response<List<Employee>>> responseEntity = ResponseEntity.ok(null);
@@ -106,6 +161,20 @@ class EmployeeServiceTest {
 
         RuntimeException exception = assertThrows(RuntimeException.class, () -> employeeService.getAllEmployees());
         assertEquals("Server rate limit exceeded. Please try again later.", exception.getMessage());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(UpstreamMetrics.ERRORS)
+                        .tags("operation", "getAll", "status", "429")
+                        .counter()
+                        .count());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(UpstreamMetrics.CALLS)
+                        .tags("operation", "getAll", "outcome", "rate_limited")
+                        .timer()
+                        .count());
     }
 
     @Test
@@ -253,6 +322,44 @@ class EmployeeServiceTest {
         assertEquals("Server rate limit exceeded. Please try again later.", exception.getMessage());
     }
 
+    @Test
+    void deleteById_ShouldSendSingleDeleteByIdAndReturnDeletedEmployee() {
+        String employeeId = employee1.getId().toString();
+        ResponseEntity<Response<Employee>> responseEntity = ResponseEntity.ok(Response.handledWith(employee1));
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/" + employeeId),
+                        eq(HttpMethod.DELETE),
+                        isNull(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(responseEntity);
+
+        Employee result = employeeService.deleteById(employeeId);
+
+        assertEquals(employee1, result);
+        verify(restTemplate, never())
+                .exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(UpstreamMetrics.CALLS)
+                        .tags("operation", "deleteById", "outcome", "success")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void deleteById_ShouldThrowNotFound_WhenEmployeeNotFound() {
+        String employeeId = UUID.randomUUID().toString();
+        HttpClientErrorException notFoundException =
+                HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null);
+
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.DELETE), isNull(), any(ParameterizedTypeReference.class)))
+                .thenThrow(notFoundException);
+
+        assertThrows(HttpClientErrorException.NotFound.class, () -> employeeService.deleteById(employeeId));
+    }
+
     @Test
     void getAllEmployees_ShouldHandleRestClientException() {
         RestClientException restException = new RestClientException("Connection failed");
@@ -263,4 +370,158 @@ class EmployeeServiceTest {
         RuntimeException exception = assertThrows(RuntimeException.class, () -> employeeService.getAllEmployees());
         assertEquals("Error fetching all employees from server", exception.getMessage());
     }
+
+    @Test
+    void forEachEmployeePage_ShouldFollowNextCursorUntilLastPage() {
+        ResponseEntity<Response<List<Employee>>> firstPage = ResponseEntity.ok()
+                .header("X-Next-Cursor", "MA")
+                .body(Response.handledWith(List.of(employee1)));
+        ResponseEntity<Response<List<Employee>>> lastPage = ResponseEntity.ok(Response.handledWith(List.of(employee2)));
+
+        when(restTemplate.exchange(
+                        any(URI.class), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(firstPage, lastPage);
+
+        List<List<Employee>> pages = new ArrayList<>();
+        employeeService.forEachEmployeePage(1, pages::add);
+
+        assertEquals(List.of(List.of(employee1), List.of(employee2)), pages);
+        ArgumentCaptor<URI> uris = ArgumentCaptor.forClass(URI.class);
+        verify(restTemplate, times(2))
+                .exchange(uris.capture(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        assertEquals("limit=1", uris.getAllValues().get(0).getQuery());
+        assertEquals("limit=1&cursor=MA", uris.getAllValues().get(1).getQuery());
+    }
+
+    @Test
+    void queries_ShouldBePushedDownWithEncodedParameters() {
+        when(restTemplate.exchange(
+                        any(URI.class), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(
+                        ResponseEntity.ok(Response.handledWith(List.of(employee2))),
+                        ResponseEntity.ok(Response.handledWith(95000)),
+                        ResponseEntity.ok(Response.handledWith(List.of(employee2, employee1))));
+
+        assertEquals(List.of(employee2), employeeService.searchByName("Jane S+"));
+        assertEquals(95000, employeeService.getHighestSalary());
+        assertEquals(List.of(employee2, employee1), employeeService.getTopEarners(10));
+
+        ArgumentCaptor<URI> uris = ArgumentCaptor.forClass(URI.class);
+        verify(restTemplate, times(3))
+                .exchange(uris.capture(), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class));
+        assertEquals(
+                "http://localhost:8112/api/v1/employee/search?name=Jane%20S%2B",
+                uris.getAllValues().get(0).toString());
+        assertEquals(
+                "http://localhost:8112/api/v1/employee/highestSalary",
+                uris.getAllValues().get(1).toString());
+        assertEquals(
+                "http://localhost:8112/api/v1/employee/topEarners?limit=10",
+                uris.getAllValues().get(2).toString());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(UpstreamMetrics.CALLS)
+                        .tags("operation", "search")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void searchByName_ShouldThrowException_WhenResponseIsNull() {
+        when(restTemplate.exchange(
+                        any(URI.class), eq(HttpMethod.GET), isNull(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(null));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> employeeService.searchByName("John"));
+        assertEquals("Failed to search employees - response was null", exception.getMessage());
+    }
+
+    @Test
+    void forEachEmployee_ShouldParseNdjsonIncrementally() {
+        RestTemplate streamingRestTemplate = new RestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(streamingRestTemplate).build();
+        server.expect(requestTo("http://localhost:8112/api/v1/employee"))
+                .andExpect(header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE))
+                .andRespond(withSuccess(
+                        """
+                        {"id":"%s","employee_name":"John Doe","employee_salary":75000}
+                        {"id":"%s","employee_name":"Jane Smith","employee_salary":95000}
+                        """
+                                .formatted(employee1.getId(), employee2.getId()),
+                        MediaType.APPLICATION_NDJSON));
+
+        List<Employee> streamed = new ArrayList<>();
+        int count = new EmployeeService(streamingRestTemplate, objectMapper, upstreamMetrics, upstreamGuard)
+                .forEachEmployee(streamed::add);
+
+        server.verify();
+        assertEquals(2, count);
+        assertEquals(employee1.getId(), streamed.get(0).getId());
+        assertEquals("Jane Smith", streamed.get(1).getName());
+        assertEquals(95000, streamed.get(1).getSalary());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(UpstreamMetrics.CALLS)
+                        .tags("operation", "stream", "outcome", "success")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void createAll_ShouldSendChunksAndReportLaterChunkFailuresPerItem() {
+        List<CreateEmployeeInput> inputs = new ArrayList<>();
+        for (int i = 0; i < EmployeeService.BATCH_CHUNK_SIZE + 1; i++) {
+            CreateEmployeeInput input = new CreateEmployeeInput();
+            input.setName("Employee " + i);
+            inputs.add(input);
+        }
+        List<BatchItemResult<Employee>> firstChunk = new ArrayList<>();
+        for (int i = 0; i < EmployeeService.BATCH_CHUNK_SIZE; i++) {
+            firstChunk.add(
+                    i == 1 ? BatchItemResult.failed("age must not be null") : BatchItemResult.succeeded(employee1));
+        }
+
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/batch"),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Response.handledWith(firstChunk)))
+                .thenThrow(new RestClientException("Connection reset"));
+
+        List<BatchItemResult<Employee>> results = employeeService.createAll(inputs);
+
+        assertEquals(inputs.size(), results.size());
+        assertEquals(employee1, results.get(0).data());
+        assertEquals("age must not be null", results.get(1).error());
+        assertEquals("Failed to create employees", results.get(inputs.size() - 1).error());
+        verify(restTemplate, times(2))
+                .exchange(
+                        anyString(),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void deleteAllById_ShouldRejectInvalidIdsWithoutSendingThem() {
+        ArgumentCaptor<HttpEntity<List<UUID>>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        when(restTemplate.exchange(
+                        eq("http://localhost:8112/api/v1/employee/batch"),
+                        eq(HttpMethod.DELETE),
+                        request.capture(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(Response.handledWith(
+                        List.of(BatchItemResult.succeeded(employee1), BatchItemResult.succeeded(employee2)))));
+
+        List<BatchItemResult<Employee>> results = employeeService.deleteAllById(
+                List.of(employee1.getId().toString(), "not-a-uuid", employee2.getId().toString()));
+
+        assertEquals(List.of(employee1.getId(), employee2.getId()), request.getValue().getBody());
+        assertEquals(employee1, results.get(0).data());
+        assertEquals("Invalid employee id: not-a-uuid", results.get(1).error());
+        assertEquals(employee2, results.get(2).data());
+    }
 }
@@ -0,0 +1,201 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.DeleteEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+class ReactiveEmployeeServiceTest {
+
+    private static final String EMPLOYEES_JSON =
+            """
+            {
+                "data": [
+                    {
+                        "id": "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507",
+                        "employee_name": "John Doe",
+                        "employee_salary": 75000,
+                        "employee_age": 30,
+                        "employee_title": "Software Engineer",
+                        "employee_email": "johndoe@company.com"
+                    },
+                    {
+                        "id": "5255f1a5-f9f7-4be5-829a-134bde088d17",
+                        "employee_name": "Jane Smith",
+                        "employee_salary": 95000,
+                        "employee_age": 28,
+                        "employee_title": "Senior Developer",
+                        "employee_email": "janesmith@company.com"
+                    }
+                ],
+                "status": "Successfully processed request."
+            }
+            """;
+
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void getAllEmployees_ShouldReturnListOfEmployees() {
+        ReactiveEmployeeService employeeService = serviceRespondingWith(HttpStatus.OK, EMPLOYEES_JSON);
+
+        List<Employee> result = employeeService.getAllEmployees().block();
+
+        assertEquals(2, result.size());
+        assertEquals("John Doe", result.get(0).getName());
+        assertEquals(95000, result.get(1).getSalary());
+        assertEquals(HttpMethod.GET, lastRequest.get().method());
+        assertEquals("/api/v1/employee", lastRequest.get().url().getPath());
+    }
+
+    @Test
+    void getAllEmployees_ShouldThrowException_WhenResponseIsNull() {
+        ReactiveEmployeeService employeeService =
+                serviceRespondingWith(HttpStatus.OK, "{\"status\": \"Successfully processed request.\"}");
+
+        RuntimeException exception =
+                assertThrows(RuntimeException.class, () -> employeeService.getAllEmployees().block());
+        assertEquals("Failed to retrieve employees - response was null", exception.getMessage());
+    }
+
+    @Test
+    void getAllEmployees_ShouldHandleRateLimitError() {
+        ReactiveEmployeeService employeeService = serviceRespondingWith(HttpStatus.TOO_MANY_REQUESTS, "");
+
+        UpstreamRateLimitedException exception =
+                assertThrows(UpstreamRateLimitedException.class, () -> employeeService.getAllEmployees().block());
+        assertEquals("Server rate limit exceeded. Please try again later.", exception.getMessage());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(UpstreamMetrics.ERRORS)
+                        .tags("operation", "getAll", "status", "429")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void getEmployeeById_ShouldPropagateNotFound() {
+        ReactiveEmployeeService employeeService = serviceRespondingWith(HttpStatus.NOT_FOUND, "");
+
+        assertThrows(
+                WebClientResponseException.NotFound.class,
+                () -> employeeService.getEmployeeById("missing").block());
+        assertEquals("/api/v1/employee/missing", lastRequest.get().url().getPath());
+    }
+
+    @Test
+    void searchByName_ShouldPushQueryDownWithEncodedName() {
+        ReactiveEmployeeService employeeService = serviceRespondingWith(HttpStatus.OK, EMPLOYEES_JSON);
+
+        List<Employee> result = employeeService.searchByName("Jane S+").block();
+
+        assertEquals(2, result.size());
+        assertEquals("/api/v1/employee/search", lastRequest.get().url().getPath());
+        assertEquals("name=Jane%20S%2B", lastRequest.get().url().getRawQuery());
+    }
+
+    @Test
+    void getHighestSalary_ShouldThrowException_WhenResponseIsNull() {
+        ReactiveEmployeeService employeeService =
+                serviceRespondingWith(HttpStatus.OK, "{\"status\": \"Successfully processed request.\"}");
+
+        RuntimeException exception =
+                assertThrows(RuntimeException.class, () -> employeeService.getHighestSalary().block());
+        assertEquals("Failed to get highest salary - response was null", exception.getMessage());
+        assertEquals("/api/v1/employee/highestSalary", lastRequest.get().url().getPath());
+    }
+
+    @Test
+    void create_ShouldReturnCreatedEmployee() {
+        ReactiveEmployeeService employeeService = serviceRespondingWith(
+                HttpStatus.OK,
+                """
+                {
+                    "data": {
+                        "id": "d005f39a-beb8-4390-afec-fd54e91d94ee",
+                        "employee_name": "Alice Brown",
+                        "employee_salary": 80000,
+                        "employee_age": 32,
+                        "employee_title": "Product Manager",
+                        "employee_email": "alicebrown@company.com"
+                    },
+                    "status": "Successfully processed request."
+                }
+                """);
+        CreateEmployeeInput input = new CreateEmployeeInput();
+        input.setName("Alice Brown");
+        input.setSalary(80000);
+        input.setAge(32);
+        input.setTitle("Product Manager");
+
+        Employee result = employeeService.create(input).block();
+
+        assertEquals("Alice Brown", result.getName());
+        assertEquals(HttpMethod.POST, lastRequest.get().method());
+    }
+
+    @Test
+    void delete_ShouldThrowException_WhenDeleteFails() {
+        ReactiveEmployeeService employeeService = serviceRespondingWith(
+                HttpStatus.OK, "{\"data\": false, \"status\": \"Successfully processed request.\"}");
+        DeleteEmployeeInput input = new DeleteEmployeeInput();
+        input.setName("John Doe");
+
+        RuntimeException exception =
+                assertThrows(RuntimeException.class, () -> employeeService.delete(input).block());
+        assertEquals("Failed to delete employee - response was null", exception.getMessage());
+    }
+
+    @Test
+    void deleteById_ShouldSendSingleDeleteByIdAndReturnDeletedEmployee() {
+        ReactiveEmployeeService employeeService = serviceRespondingWith(
+                HttpStatus.OK,
+                """
+                {
+                    "data": {"id": "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", "employee_name": "John Doe"},
+                    "status": "Successfully processed request."
+                }
+                """);
+
+        Employee result = employeeService.deleteById("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507").block();
+
+        assertEquals("John Doe", result.getName());
+        assertEquals(HttpMethod.DELETE, lastRequest.get().method());
+        assertEquals("/api/v1/employee/4a3a170b-22cd-4ac2-aad1-9bb5b34a1507", lastRequest.get().url().getPath());
+    }
+
+    private ReactiveEmployeeService serviceRespondingWith(HttpStatus status, String body) {
+        final var webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    lastRequest.set(request);
+                    return Mono.just(ClientResponse.create(status)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(body)
+                            .build());
+                })
+                .build();
+        final var upstreamGuard = new UpstreamGuard(
+                new CircuitBreaker(20, 10, 0.5, Duration.ofSeconds(5), Duration.ofSeconds(10), 3),
+                new Bulkhead("read", 20, Duration.ofMillis(100)),
+                new Bulkhead("write", 10, Duration.ofMillis(100)));
+        return new ReactiveEmployeeService(webClient, new UpstreamMetrics(meterRegistry), upstreamGuard);
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private ExecutorService executor;
+    private SingleFlight<String, Object> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+        singleFlight = new SingleFlight<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_ShouldShareOneExecutionBetweenConcurrentCallers() throws Exception {
+        final var invocations = new AtomicInteger();
+        final var release = new CountDownLatch(1);
+        final var result = new Object();
+
+        List<Future<Object>> futures = submitCallers("all", () -> {
+            invocations.incrementAndGet();
+            await(release);
+            return result;
+        });
+        awaitCoalescedCalls(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertSame(result, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void execute_ShouldShareFailureBetweenConcurrentCallers() throws Exception {
+        final var release = new CountDownLatch(1);
+        final var failure = new RuntimeException("Server rate limit exceeded. Please try again later.");
+
+        List<Future<Object>> futures = submitCallers("all", () -> {
+            await(release);
+            throw failure;
+        });
+        awaitCoalescedCalls(CALLERS - 1);
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            ExecutionException exception =
+                    assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertSame(failure, exception.getCause());
+        }
+    }
+
+    @Test
+    void execute_ShouldNotCoalesceDifferentKeys() {
+        final var invocations = new AtomicInteger();
+
+        singleFlight.execute("a", invocations::incrementAndGet);
+        singleFlight.execute("b", invocations::incrementAndGet);
+
+        assertEquals(2, invocations.get());
+        assertEquals(0, singleFlight.getCoalescedCalls());
+    }
+
+    @Test
+    void execute_ShouldStartFreshExecution_AfterPreviousCompleted() {
+        final var invocations = new AtomicInteger();
+
+        assertEquals(1, singleFlight.execute("all", invocations::incrementAndGet));
+        assertEquals(2, singleFlight.execute("all", invocations::incrementAndGet));
+    }
+
+    private List<Future<Object>> submitCallers(String key, Supplier<Object> supplier) {
+        final var futures = new ArrayList<Future<Object>>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> singleFlight.execute(key, supplier)));
+        }
+        return futures;
+    }
+
+    private void awaitCoalescedCalls(long expected) throws InterruptedException {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalescedCalls() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, singleFlight.getCoalescedCalls());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
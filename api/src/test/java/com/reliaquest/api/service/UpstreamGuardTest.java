@@ -0,0 +1,119 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.exception.UpstreamUnavailableException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import reactor.core.publisher.Mono;
+
+class UpstreamGuardTest {
+
+    private ExecutorService executor;
+    private CircuitBreaker circuitBreaker;
+    private UpstreamGuard upstreamGuard;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        circuitBreaker = new CircuitBreaker(4, 2, 0.5, Duration.ofSeconds(5), Duration.ofSeconds(10), 1);
+        upstreamGuard = new UpstreamGuard(
+                circuitBreaker, new Bulkhead("read", 1, Duration.ZERO), new Bulkhead("write", 1, Duration.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void read_ShouldFailFastWithoutCallingServer_WhenCircuitIsOpen() {
+        failWith(HttpServerErrorException.create(
+                HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", new HttpHeaders(), null, null));
+        final var calls = new AtomicInteger();
+
+        final var e = assertThrows(
+                UpstreamUnavailableException.class, () -> upstreamGuard.read(calls::incrementAndGet));
+
+        assertEquals(0, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertTrue(e.getRetryAfter().compareTo(Duration.ofSeconds(10)) <= 0 && !e.getRetryAfter().isZero());
+    }
+
+    @Test
+    void read_ShouldNotCountClientErrorsAsFailures() {
+        failWith(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), null, null));
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals("ok", upstreamGuard.read(() -> "ok"));
+    }
+
+    @Test
+    void read_ShouldNotRecordRateLimitedCalls() {
+        failWith(new UpstreamRateLimitedException(UpstreamRateLimitedException.DEFAULT_MESSAGE, Duration.ofSeconds(1)));
+        failWith(new UpstreamRateLimitedException(
+                UpstreamRateLimitedException.DEFAULT_MESSAGE,
+                Duration.ofSeconds(1),
+                HttpClientErrorException.create(
+                        HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", new HttpHeaders(), null, null)));
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    void read_ShouldRejectWhenBulkheadIsFull_WithoutBlockingWrites() throws Exception {
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        executor.submit(() -> upstreamGuard.read(() -> {
+            started.countDown();
+            await(release);
+            return null;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(UpstreamUnavailableException.class, () -> upstreamGuard.read(() -> "second"));
+        assertEquals("write", upstreamGuard.write(() -> "write"));
+        assertEquals(1, upstreamGuard.getReadBulkhead().getRejectedCount());
+
+        release.countDown();
+    }
+
+    @Test
+    void read_ShouldReleaseBulkhead_WhenReactiveCallCompletes() {
+        assertEquals("first", upstreamGuard.read(Mono.just("first")).block());
+        assertEquals("second", upstreamGuard.read(Mono.just("second")).block());
+
+        assertEquals(1, upstreamGuard.getReadBulkhead().getAvailable());
+    }
+
+    private void failWith(RuntimeException error) {
+        for (int i = 0; i < 2; i++) {
+            assertThrows(error.getClass(), () -> upstreamGuard.read(() -> {
+                throw error;
+            }));
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
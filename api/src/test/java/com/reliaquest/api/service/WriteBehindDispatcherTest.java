@@ -0,0 +1,96 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.QueuedCreate;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestClientException;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindDispatcherTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private EmployeeRosterCache rosterCache;
+
+    @TempDir
+    Path directory;
+
+    private WriteBehindQueue queue;
+    private WriteBehindDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        queue = new WriteBehindQueue(new ObjectMapper(), directory.resolve("queue.log"), 100, 100);
+        dispatcher = new WriteBehindDispatcher(
+                queue, employeeService, rosterCache, 10, Duration.ofSeconds(1), Duration.ofSeconds(3));
+    }
+
+    @Test
+    void dispatchNext_ShouldWaitOutThrottlingAndBackOffOnFailuresBeforeDelivering() throws Exception {
+        final var queued = queue.enqueue(input("Alice"));
+        final var created = Employee.builder().id(UUID.randomUUID()).name("Alice").build();
+        when(employeeService.createAll(anyList()))
+                .thenThrow(new UpstreamRateLimitedException("Rate limited", Duration.ofSeconds(7)))
+                .thenThrow(new RuntimeException("Failed to create employees", new RestClientException("refused")))
+                .thenThrow(new RuntimeException("Failed to create employees", new RestClientException("refused")))
+                .thenThrow(new RuntimeException("Failed to create employees", new RestClientException("refused")))
+                .thenReturn(List.of(BatchItemResult.succeeded(created)));
+
+        assertEquals(Duration.ofSeconds(7), dispatcher.dispatchNext(Duration.ZERO));
+        assertEquals(Duration.ofSeconds(1), dispatcher.dispatchNext(Duration.ZERO));
+        assertEquals(Duration.ofSeconds(2), dispatcher.dispatchNext(Duration.ZERO));
+        assertEquals(Duration.ofSeconds(3), dispatcher.dispatchNext(Duration.ZERO));
+        assertEquals(QueuedCreate.pending(queued.id()), queue.getStatus(queued.id()).orElseThrow());
+
+        assertEquals(Duration.ZERO, dispatcher.dispatchNext(Duration.ZERO));
+
+        assertEquals(QueuedCreate.created(queued.id(), created), queue.getStatus(queued.id()).orElseThrow());
+        assertEquals(0, queue.getPendingCount());
+        verify(rosterCache).recordCreated(List.of(created));
+    }
+
+    @Test
+    void attemptNext_ShouldBackOffAndKeepBatchPending_WhenOutcomesCannotBeRecorded() throws Exception {
+        final var queued = queue.enqueue(input("Alice"));
+        final var created = Employee.builder().id(UUID.randomUUID()).name("Alice").build();
+        when(employeeService.createAll(anyList()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(BatchItemResult.succeeded(created)));
+
+        assertEquals(Duration.ofSeconds(1), dispatcher.attemptNext(Duration.ZERO));
+        assertEquals(QueuedCreate.pending(queued.id()), queue.getStatus(queued.id()).orElseThrow());
+
+        assertEquals(Duration.ZERO, dispatcher.attemptNext(Duration.ZERO));
+
+        assertEquals(QueuedCreate.created(queued.id(), created), queue.getStatus(queued.id()).orElseThrow());
+    }
+
+    private static CreateEmployeeInput input(String name) {
+        final var input = new CreateEmployeeInput();
+        input.setName(name);
+        input.setSalary(50000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.CreateEmployeeInput;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class TimedJacksonHttpMessageConverterTest {
+
+    private static final String URL = "http://localhost:8112/api/v1/employee";
+    private static final ParameterizedTypeReference<Response<List<Employee>>> EMPLOYEES =
+            new ParameterizedTypeReference<>() {};
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private SimpleMeterRegistry meterRegistry;
+    private MockRestServiceServer server;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        restTemplate = new RestTemplate(List.of(
+                TimedJacksonHttpMessageConverter.smile(smileMapper, meterRegistry),
+                TimedJacksonHttpMessageConverter.json(new ObjectMapper(), meterRegistry)));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void read_ShouldAskForSmileFirstAndDecodeSmileBody() throws Exception {
+        final var employees = List.of(employee("John Doe"), employee("Jane Smith"));
+        server.expect(requestTo(URL))
+                .andExpect(request -> assertEquals(
+                        TimedJacksonHttpMessageConverter.APPLICATION_SMILE,
+                        request.getHeaders().getAccept().get(0)))
+                .andRespond(withSuccess(
+                        smileMapper.writeValueAsBytes(Response.handledWith(employees)),
+                        TimedJacksonHttpMessageConverter.APPLICATION_SMILE));
+
+        final var response = restTemplate.exchange(URL, HttpMethod.GET, null, EMPLOYEES);
+
+        server.verify();
+        assertEquals(employees, response.getBody().data());
+        assertEquals(1, decodeCount("smile"));
+    }
+
+    @Test
+    void read_ShouldDecodeJson_WhenServerOnlyOffersJson() {
+        final var id = UUID.randomUUID();
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(
+                        "{\"data\":[{\"id\":\"" + id + "\",\"employee_name\":\"John Doe\"}]}",
+                        MediaType.APPLICATION_JSON));
+
+        final var response = restTemplate.exchange(URL, HttpMethod.GET, null, EMPLOYEES);
+
+        assertEquals(List.of(Employee.builder().id(id).name("John Doe").build()), response.getBody().data());
+        assertEquals(1, decodeCount("json"));
+    }
+
+    @Test
+    void write_ShouldSendJsonBody_WhileAskingForSmile() throws Exception {
+        final var input = new CreateEmployeeInput();
+        input.setName("John Doe");
+        input.setSalary(75000);
+        server.expect(requestTo(URL))
+                .andExpect(request -> assertEquals(MediaType.APPLICATION_JSON, request.getHeaders().getContentType()))
+                .andExpect(request -> assertEquals(
+                        TimedJacksonHttpMessageConverter.APPLICATION_SMILE,
+                        request.getHeaders().getAccept().get(0)))
+                .andRespond(withSuccess(
+                        smileMapper.writeValueAsBytes(Response.handledWith(employee("John Doe"))),
+                        TimedJacksonHttpMessageConverter.APPLICATION_SMILE));
+
+        restTemplate.postForObject(URL, input, Response.class);
+
+        server.verify();
+    }
+
+    private long decodeCount(String format) {
+        return meterRegistry
+                .get(TimedJacksonHttpMessageConverter.DECODE)
+                .tag("format", format)
+                .timer()
+                .count();
+    }
+
+    private static Employee employee(String name) {
+        return Employee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(75000)
+                .age(30)
+                .title("Engineer")
+                .build();
+    }
+}
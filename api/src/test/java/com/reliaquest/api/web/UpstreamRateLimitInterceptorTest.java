@@ -0,0 +1,140 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.reliaquest.api.exception.UpstreamRateLimitedException;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+class UpstreamRateLimitInterceptorTest {
+
+    private static final String URL = "http://localhost:8112/api/v1/employee";
+
+    private UpstreamRateLimitInterceptor interceptor;
+    private MockRestServiceServer server;
+    private RestTemplate restTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final var rateLimiter = new AdaptiveRateLimiter(5, 1000, 100, Duration.ofMillis(10), Duration.ofSeconds(90));
+        interceptor = new UpstreamRateLimitInterceptor(
+                rateLimiter, Duration.ofSeconds(1), 1, Duration.ofMillis(5), Duration.ofMillis(20));
+        restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(interceptor);
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void intercept_ShouldRetryThrottledRequest() {
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+        server.expect(requestTo(URL)).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        assertEquals("{}", restTemplate.getForObject(URL, String.class));
+
+        server.verify();
+        assertEquals(1, interceptor.getThrottledCount());
+        assertEquals(1, interceptor.getRetriedCount());
+        assertEquals(0, interceptor.getShedCount());
+    }
+
+    @Test
+    void intercept_ShouldReturnThrottledResponse_WhenRetriesAreExhausted() {
+        server.expect(ExpectedCount.times(2), requestTo(URL)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+
+        assertThrows(
+                HttpClientErrorException.TooManyRequests.class, () -> restTemplate.getForObject(URL, String.class));
+
+        server.verify();
+        assertEquals(2, interceptor.getThrottledCount());
+        assertEquals(1, interceptor.getRetriedCount());
+    }
+
+    @Test
+    void intercept_ShouldShedRequest_WhenRetryAfterExceedsQueueWait() {
+        final var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+
+        UpstreamRateLimitedException exception =
+                assertThrows(UpstreamRateLimitedException.class, () -> restTemplate.getForObject(URL, String.class));
+
+        server.verify();
+        assertTrue(exception.getRetryAfter().compareTo(Duration.ofSeconds(55)) > 0);
+        assertEquals(1, interceptor.getShedCount());
+
+        // Still inside the announced cooldown, so the next call is shed without reaching the server.
+        assertThrows(UpstreamRateLimitedException.class, () -> restTemplate.getForObject(URL, String.class));
+        assertEquals(2, interceptor.getShedCount());
+    }
+
+    @Test
+    void intercept_ShouldTimeOnlyExchangesSent() {
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+        server.expect(requestTo(URL)).andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        final var timer = new UpstreamExchangeTimer();
+
+        final long start = System.nanoTime();
+        timer.time(() -> restTemplate.getForObject(URL, String.class));
+        final var wallTime = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(2, timer.getExchangeCount());
+        assertTrue(timer.getElapsed().compareTo(wallTime) <= 0);
+    }
+
+    @Test
+    void intercept_ShouldNotTimeShedRequests() {
+        final var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "60");
+        server.expect(requestTo(URL)).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+        final var throttled = new UpstreamExchangeTimer();
+        final var shed = new UpstreamExchangeTimer();
+
+        assertThrows(
+                UpstreamRateLimitedException.class,
+                () -> throttled.time(() -> restTemplate.getForObject(URL, String.class)));
+        assertThrows(
+                UpstreamRateLimitedException.class,
+                () -> shed.time(() -> restTemplate.getForObject(URL, String.class)));
+
+        server.verify();
+        assertEquals(1, throttled.getExchangeCount());
+        assertFalse(shed.hasExchanged());
+    }
+
+    @Test
+    void rateLimiter_ShouldLearnBurstFromSuccessesBeforeThrottle() {
+        final var rateLimiter = new AdaptiveRateLimiter(5, 1000, 100, Duration.ofMillis(1), Duration.ofSeconds(1));
+        for (int i = 0; i < 7; i++) {
+            rateLimiter.onSuccess();
+        }
+
+        rateLimiter.onThrottled(null);
+
+        assertEquals(7, rateLimiter.getBurst());
+    }
+
+    @Test
+    void parseRetryAfter_ShouldAcceptDeltaSecondsAndIgnoreGarbage() {
+        final var headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "12");
+        assertEquals(Duration.ofSeconds(12), UpstreamRateLimitInterceptor.parseRetryAfter(headers));
+
+        headers.set(HttpHeaders.RETRY_AFTER, "soon");
+        assertNull(UpstreamRateLimitInterceptor.parseRetryAfter(headers));
+    }
+}
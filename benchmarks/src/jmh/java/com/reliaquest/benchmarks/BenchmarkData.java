@@ -0,0 +1,65 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic rosters for the benchmarks. Names are built from a small syllable set so substring searches hit a
+ * realistic share of the roster, and a fixed seed keeps runs comparable between commits.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 20240101L;
+
+    private static final String[] FIRST_NAMES = {
+        "John", "Jane", "Alice", "Bob", "Carol", "Dan", "Erin", "Frank", "Grace", "Heidi", "Ivan", "Judy", "Mallory",
+        "Niaj", "Olivia", "Peggy", "Rupert", "Sybil", "Trent", "Victor", "Walter", "Yvonne"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin"
+    };
+
+    private BenchmarkData() {}
+
+    static List<Employee> employees(int size) {
+        final var random = new Random(SEED);
+        final List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final var name = name(random, i);
+            employees.add(Employee.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .name(name)
+                    .salary(30_000 + random.nextInt(470_000))
+                    .age(16 + random.nextInt(55))
+                    .title("Engineer")
+                    .email(name.toLowerCase().replace(' ', '.') + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+
+    static List<MockEmployee> mockEmployees(int size) {
+        final List<MockEmployee> mockEmployees = new ArrayList<>(size);
+        for (Employee employee : employees(size)) {
+            mockEmployees.add(MockEmployee.builder()
+                    .id(employee.getId())
+                    .name(employee.getName())
+                    .salary(employee.getSalary())
+                    .age(employee.getAge())
+                    .title(employee.getTitle())
+                    .email(employee.getEmail())
+                    .build());
+        }
+        return mockEmployees;
+    }
+
+    private static String name(Random random, int index) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]
+                + " " + index;
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reading upstream payloads into {@link Employee}s: the full {@code Response<List<Employee>>} envelope the api reads,
+ * as JSON and as Smile, the NDJSON stream parsed incrementally, and a single-employee envelope.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonDeserializationBenchmark {
+
+    private static final TypeReference<Response<List<Employee>>> EMPLOYEES_RESPONSE = new TypeReference<>() {};
+    private static final TypeReference<Response<Employee>> EMPLOYEE_RESPONSE = new TypeReference<>() {};
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private ObjectReader employeesResponseReader;
+    private ObjectReader employeesResponseSmileReader;
+    private ObjectReader employeeResponseReader;
+    private ObjectReader employeeReader;
+    private byte[] employeesJson;
+    private byte[] employeesSmile;
+    private byte[] employeesNdjson;
+    private byte[] employeeJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        final var objectMapper = new ObjectMapper();
+        employeesResponseReader = objectMapper.readerFor(EMPLOYEES_RESPONSE);
+        employeeResponseReader = objectMapper.readerFor(EMPLOYEE_RESPONSE);
+        employeeReader = objectMapper.readerFor(Employee.class);
+        final var smileMapper = new ObjectMapper(new SmileFactory());
+        employeesResponseSmileReader = smileMapper.readerFor(EMPLOYEES_RESPONSE);
+
+        final var employees = BenchmarkData.employees(rosterSize);
+        employeesJson = objectMapper.writeValueAsBytes(Response.handledWith(employees));
+        employeesSmile = smileMapper.writeValueAsBytes(Response.handledWith(employees));
+        employeeJson = objectMapper.writeValueAsBytes(Response.handledWith(employees.get(0)));
+        final var ndjson = new ByteArrayOutputStream(employeesJson.length);
+        for (Employee employee : employees) {
+            ndjson.write(objectMapper.writeValueAsBytes(employee));
+            ndjson.write('\n');
+        }
+        employeesNdjson = ndjson.toByteArray();
+    }
+
+    @Benchmark
+    public Response<List<Employee>> readEmployeesResponse() throws IOException {
+        return employeesResponseReader.readValue(employeesJson);
+    }
+
+    @Benchmark
+    public Response<List<Employee>> readEmployeesResponseSmile() throws IOException {
+        return employeesResponseSmileReader.readValue(employeesSmile);
+    }
+
+    @Benchmark
+    public void readEmployeesNdjson(Blackhole blackhole) throws IOException {
+        try (MappingIterator<Employee> employees = employeeReader.readValues(employeesNdjson)) {
+            while (employees.hasNextValue()) {
+                blackhole.consume(employees.nextValue());
+            }
+        }
+    }
+
+    @Benchmark
+    public Response<Employee> readEmployeeResponse() throws IOException {
+        return employeeResponseReader.readValue(employeeJson);
+    }
+}
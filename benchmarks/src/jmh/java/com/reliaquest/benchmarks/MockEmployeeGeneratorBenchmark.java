@@ -0,0 +1,31 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Generating the mock server's startup roster with {@link MockEmployeeGenerator}, seeded as in load runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MockEmployeeGeneratorBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    @Benchmark
+    public List<MockEmployee> generateSeeded() {
+        return new MockEmployeeGenerator(Locale.ROOT, 42L).generate(rosterSize);
+    }
+}
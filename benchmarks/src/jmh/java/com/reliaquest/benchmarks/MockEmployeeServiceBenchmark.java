@@ -0,0 +1,93 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.MockEmployeeStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Mock server lookups through {@link MockEmployeeService}: by id from one and several threads, the pushed-down name
+ * search and top ten, and a create followed by a delete by name, which exercises the name index and the write lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MockEmployeeServiceBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    private MockEmployeeService mockEmployeeService;
+    private UUID[] ids;
+
+    @Setup
+    public void setUp() {
+        final List<MockEmployee> mockEmployees = BenchmarkData.mockEmployees(rosterSize);
+        mockEmployeeService = new MockEmployeeService(
+                new Faker(Locale.ROOT), new MockEmployeeStore(mockEmployees), new SimpleMeterRegistry());
+        ids = mockEmployees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<MockEmployee> findByIdContended() {
+        return mockEmployeeService.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<MockEmployee> searchByName() {
+        return mockEmployeeService.search("an", null, null);
+    }
+
+    @Benchmark
+    public List<MockEmployee> topTenEarners() {
+        return mockEmployeeService.getTopEarners(10);
+    }
+
+    @Benchmark
+    public boolean createThenDeleteByName() {
+        final var input = new CreateMockEmployeeInput();
+        input.setName("Benchmark " + Thread.currentThread().getId());
+        input.setSalary(50_000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        mockEmployeeService.create(input);
+
+        final var deleteInput = new DeleteMockEmployeeInput();
+        deleteInput.setName(input.getName());
+        return mockEmployeeService.delete(deleteInput);
+    }
+
+    @Benchmark
+    public Optional<MockEmployee> createThenDeleteById() {
+        final var input = new CreateMockEmployeeInput();
+        input.setName("Benchmark " + Thread.currentThread().getId());
+        input.setSalary(50_000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return mockEmployeeService.deleteById(mockEmployeeService.create(input).getId());
+    }
+}
@@ -0,0 +1,98 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeRankings;
+import com.reliaquest.api.service.EmployeeRoster;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Controller aggregations over the cached roster: the roster's maintained indexes against primitive salary column
+ * scans, the list-based fallbacks and the original stream pipelines, which are kept here as baselines.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RosterAggregationBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    public int rosterSize;
+
+    @Param({"smith", "an"})
+    public String searchString;
+
+    private List<Employee> employees;
+    private EmployeeRoster roster;
+    private SalaryColumns columns;
+
+    @Setup
+    public void setUp() {
+        employees = BenchmarkData.employees(rosterSize);
+        roster = EmployeeRoster.of(employees);
+        columns = new SalaryColumns(employees);
+    }
+
+    @Benchmark
+    public List<Employee> searchIndexed() {
+        return roster.searchByName(searchString);
+    }
+
+    @Benchmark
+    public List<Employee> searchLinearScan() {
+        return employees.stream()
+                .filter(employee -> Objects.nonNull(employee.getName())
+                        && employee.getName().toLowerCase().contains(searchString.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int highestSalaryIndexed() {
+        return roster.getHighestSalary();
+    }
+
+    @Benchmark
+    public int highestSalaryColumnar() {
+        return columns.highestSalary();
+    }
+
+    @Benchmark
+    public int highestSalaryScan() {
+        return EmployeeRankings.highestSalary(employees);
+    }
+
+    @Benchmark
+    public List<String> topTenIndexed() {
+        return roster.getTopEarningNames(10);
+    }
+
+    @Benchmark
+    public List<String> topTenColumnar() {
+        return columns.topEarningNames(10);
+    }
+
+    @Benchmark
+    public List<String> topTenBoundedHeap() {
+        return EmployeeRankings.topEarningNames(employees, 10);
+    }
+
+    @Benchmark
+    public List<String> topTenFullSort() {
+        return employees.stream()
+                .filter(employee -> Objects.nonNull(employee.getSalary()) && Objects.nonNull(employee.getName()))
+                .sorted(Comparator.comparing(Employee::getSalary).reversed())
+                .limit(10)
+                .map(Employee::getName)
+                .collect(Collectors.toList());
+    }
+}
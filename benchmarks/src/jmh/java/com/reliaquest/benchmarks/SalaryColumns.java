@@ -0,0 +1,137 @@
+package com.reliaquest.benchmarks;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Column-per-field copy of a roster, kept as a benchmark baseline for the roster's salary index: salaries in an
+ * {@code int[]}, so the aggregations scan consecutive primitives rather than chasing a boxed {@code Integer} per
+ * employee. Rosters larger than {@value #CHUNK_SIZE} rows are scanned in chunks on the common fork-join pool.
+ */
+final class SalaryColumns {
+
+    static final int CHUNK_SIZE = 1 << 14;
+
+    // Marks a row without a salary, so the scans skip it.
+    private static final int NO_SALARY = Integer.MIN_VALUE;
+
+    private final int[] salaries;
+    private final String[] names;
+    private final int size;
+
+    SalaryColumns(List<Employee> employees) {
+        size = employees.size();
+        salaries = new int[size];
+        names = new String[size];
+        for (int row = 0; row < size; row++) {
+            final var employee = employees.get(row);
+            salaries[row] = employee.getSalary() == null ? NO_SALARY : employee.getSalary();
+            names[row] = employee.getName();
+        }
+    }
+
+    /**
+     * Returns the highest salary, or 0 when no row has one.
+     */
+    int highestSalary() {
+        final int chunks = chunks();
+        final int highest = chunks == 1
+                ? highestSalary(0, size)
+                : IntStream.range(0, chunks)
+                        .parallel()
+                        .map(chunk -> highestSalary(chunk * CHUNK_SIZE, chunkEnd(chunk)))
+                        .max()
+                        .orElse(NO_SALARY);
+        return highest == NO_SALARY ? 0 : highest;
+    }
+
+    /**
+     * Returns the names of the {@code limit} highest earners, highest first; equal salaries keep roster order. Rows
+     * without a name are skipped.
+     */
+    List<String> topEarningNames(int limit) {
+        if (limit <= 0 || size == 0) {
+            return List.of();
+        }
+        final int chunks = chunks();
+        final var top = new TopRows(limit);
+        if (chunks == 1) {
+            top.scan(0, size);
+        } else {
+            // Each chunk ranks its own rows; the chunk winners are then merged into the overall top.
+            final var chunkTops = new TopRows[chunks];
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                chunkTops[chunk] = new TopRows(limit);
+                chunkTops[chunk].scan(chunk * CHUNK_SIZE, chunkEnd(chunk));
+            });
+            for (TopRows chunkTop : chunkTops) {
+                for (int i = 0; i < chunkTop.count; i++) {
+                    top.offer(chunkTop.rows[i]);
+                }
+            }
+        }
+        final List<String> result = new ArrayList<>(top.count);
+        for (int i = 0; i < top.count; i++) {
+            result.add(names[top.rows[i]]);
+        }
+        return result;
+    }
+
+    private int highestSalary(int from, int to) {
+        int highest = NO_SALARY;
+        for (int row = from; row < to; row++) {
+            if (salaries[row] > highest) {
+                highest = salaries[row];
+            }
+        }
+        return highest;
+    }
+
+    private int chunks() {
+        return Math.max(1, (size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    private int chunkEnd(int chunk) {
+        return Math.min(size, (chunk + 1) * CHUNK_SIZE);
+    }
+
+    /*
+     * The best rows seen so far, best first, in a sorted buffer of at most limit rows. A row beats another with a
+     * higher salary, or an equal salary and an earlier row.
+     */
+    private final class TopRows {
+
+        private final int[] rows;
+        private int count;
+
+        private TopRows(int limit) {
+            rows = new int[Math.min(limit, size)];
+        }
+
+        private void scan(int from, int to) {
+            for (int row = from; row < to; row++) {
+                if (salaries[row] != NO_SALARY && names[row] != null) {
+                    offer(row);
+                }
+            }
+        }
+
+        private void offer(int row) {
+            if (count == rows.length && !beats(row, rows[count - 1])) {
+                return;
+            }
+            int position = count == rows.length ? count - 1 : count++;
+            while (position > 0 && beats(row, rows[position - 1])) {
+                rows[position] = rows[position - 1];
+                position--;
+            }
+            rows[position] = row;
+        }
+
+        private boolean beats(int row, int other) {
+            return salaries[row] > salaries[other] || (salaries[row] == salaries[other] && row < other);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.benchmarks.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Harness settings, given as {@code key=value} arguments. Every key has a default, so an empty argument list runs a
+ * one minute, 100 RPS mixed load against freshly started services with rate limiting turned off.
+ */
+record LoadConfig(
+        double rps,
+        Duration warmup,
+        Duration duration,
+        Map<Operation, Integer> mix,
+        long seed,
+        int maxInFlight,
+        Duration requestTimeout,
+        boolean external,
+        URI apiUrl,
+        int rosterSize,
+        String apiMode,
+        String rateLimit,
+        int rateLimitMaxRequests,
+        Duration rateLimitBackoff,
+        Path report) {
+
+    private static final String DEFAULT_MIX = "all=20,search=20,byId=20,highest=15,topTen=15,create=5,delete=5";
+
+    static LoadConfig parse(String[] args) {
+        final Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got '" + arg + "'");
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        final var config = new LoadConfig(
+                Double.parseDouble(values.getOrDefault("rps", "100")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Integer.parseInt(values.getOrDefault("maxInFlight", "2048")),
+                DurationStyle.detectAndParse(values.getOrDefault("timeout", "10s")),
+                Boolean.parseBoolean(values.getOrDefault("external", "false")),
+                URI.create(values.getOrDefault("apiUrl", "http://localhost:8111")),
+                Integer.parseInt(values.getOrDefault("rosterSize", "1000")),
+                values.getOrDefault("apiMode", "blocking"),
+                values.getOrDefault("rateLimit", "off"),
+                Integer.parseInt(values.getOrDefault("rateLimitMaxRequests", "10")),
+                DurationStyle.detectAndParse(values.getOrDefault("rateLimitBackoff", "30s")),
+                values.containsKey("report") ? Path.of(values.get("report")) : null);
+        if (config.rps() <= 0) {
+            throw new IllegalArgumentException("rps must be positive");
+        }
+        return config;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        final Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final var parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in mix but got '" + entry + "'");
+            }
+            final int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("mix must give at least one operation a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,220 @@
+package com.reliaquest.benchmarks.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are scheduled at a fixed rate regardless of how quickly earlier ones complete,
+ * and each latency is measured from the request's scheduled start rather than the moment it was actually sent. A
+ * stalled api therefore shows up as queueing delay in the percentiles instead of silently lowering the offered load
+ * (coordinated omission).
+ *
+ * <p>The operation sequence is drawn from a seeded random source, so runs with the same seed offer the same mix in
+ * the same order. Deletes only target employees the generator created itself, and fall back to a create while none
+ * is available, so the seeded roster stays intact for lookups and searches.
+ */
+final class LoadGenerator {
+
+    private static final String EMPLOYEE_PATH = "/api/v1/employee";
+    private static final int SEED_ATTEMPTS = 30;
+
+    private final LoadConfig config;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Semaphore inFlight;
+    private final SplittableRandom random;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+
+    private List<String> seededIds = List.of();
+    private List<String> searchFragments = List.of();
+    private long created;
+
+    LoadGenerator(LoadConfig config) {
+        this.config = config;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.inFlight = new Semaphore(config.maxInFlight());
+        this.random = new SplittableRandom(config.seed());
+        this.operations = config.mix().keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.mix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Reads the current roster through the api to pick the ids and name fragments that lookups and searches use. The
+     * api may answer with errors while the server is rate limiting, so this retries for a while before giving up.
+     */
+    void seed() throws IOException, InterruptedException {
+        final var request = HttpRequest.newBuilder(uri(EMPLOYEE_PATH))
+                .timeout(config.requestTimeout())
+                .build();
+        for (int attempt = 1; attempt <= SEED_ATTEMPTS; attempt++) {
+            final var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                final List<String> ids = new ArrayList<>();
+                final List<String> fragments = new ArrayList<>();
+                for (JsonNode employee : objectMapper.readTree(response.body())) {
+                    ids.add(employee.path("id").asText());
+                    final var name = employee.path("name").asText("");
+                    if (!name.isBlank()) {
+                        fragments.add(name.split(" ")[0]);
+                    }
+                }
+                if (ids.isEmpty()) {
+                    throw new IllegalStateException("The api returned an empty roster; nothing to look up");
+                }
+                seededIds = ids;
+                searchFragments = fragments.isEmpty() ? List.of("a") : fragments;
+                return;
+            }
+            Thread.sleep(1_000);
+        }
+        throw new IllegalStateException("Could not read the roster through the api after " + SEED_ATTEMPTS + " tries");
+    }
+
+    /**
+     * Offers load at the configured rate for {@code duration}, then waits for the requests still in flight.
+     */
+    void run(Duration duration, LoadReport report) throws InterruptedException {
+        final double intervalNanos = 1e9 / config.rps();
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        for (long n = 0; ; n++) {
+            final long intended = start + (long) (n * intervalNanos);
+            if (intended - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(nextOperation(), intended, report);
+        }
+        if (!inFlight.tryAcquire(config.maxInFlight(), config.requestTimeout().toMillis() * 2, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Requests still in flight after the run; the api is not draining");
+        }
+        inFlight.release(config.maxInFlight());
+    }
+
+    private Operation nextOperation() {
+        final int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable: roll " + roll + " outside the mix");
+    }
+
+    private void send(Operation operation, long intended, LoadReport report) {
+        String deleteId = null;
+        if (operation == Operation.DELETE_BY_ID) {
+            deleteId = createdIds.poll();
+            if (deleteId == null) {
+                operation = Operation.CREATE;
+            }
+        }
+        if (!inFlight.tryAcquire()) {
+            report.recordSkipped(operation);
+            if (deleteId != null) {
+                createdIds.add(deleteId);
+            }
+            return;
+        }
+
+        final var request = request(operation, deleteId);
+        final var sent = operation;
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            try {
+                if (error != null) {
+                    report.recordFailure(sent);
+                    return;
+                }
+                report.recordResponse(sent, response.statusCode(), System.nanoTime() - intended);
+                if (sent == Operation.CREATE && response.statusCode() == 200) {
+                    rememberCreated(response.body());
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private HttpRequest request(Operation operation, String deleteId) {
+        final var builder = HttpRequest.newBuilder().timeout(config.requestTimeout());
+        return switch (operation) {
+            case GET_ALL_EMPLOYEES -> builder.uri(uri(EMPLOYEE_PATH)).build();
+            case SEARCH_BY_NAME -> builder.uri(uri(EMPLOYEE_PATH + "/search/" + encode(pick(searchFragments))))
+                    .build();
+            case GET_BY_ID -> builder.uri(uri(EMPLOYEE_PATH + "/" + pick(seededIds))).build();
+            case HIGHEST_SALARY -> builder.uri(uri(EMPLOYEE_PATH + "/highestSalary")).build();
+            case TOP_TEN_NAMES -> builder.uri(uri(EMPLOYEE_PATH + "/topTenHighestEarningEmployeeNames")).build();
+            case CREATE -> builder.uri(uri(EMPLOYEE_PATH))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody()))
+                    .build();
+            case DELETE_BY_ID -> builder.uri(uri(EMPLOYEE_PATH + "/" + deleteId)).DELETE().build();
+        };
+    }
+
+    private String createBody() {
+        final var body = Map.of(
+                "name", "Load Test " + created++,
+                "salary", 30_000 + random.nextInt(470_000),
+                "age", 16 + random.nextInt(60),
+                "title", "Load Tester");
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void rememberCreated(String body) {
+        try {
+            final var id = objectMapper.readTree(body).path("id").asText(null);
+            if (id != null) {
+                createdIds.add(id);
+            }
+        } catch (IOException e) {
+            // Counted as a success already; the employee just cannot be deleted later.
+        }
+    }
+
+    private <T> T pick(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String pathSegment) {
+        return URLEncoder.encode(pathSegment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private URI uri(String path) {
+        return config.apiUrl().resolve(path);
+    }
+}
@@ -0,0 +1,42 @@
+package com.reliaquest.benchmarks.load;
+
+import java.time.Duration;
+
+/**
+ * End-to-end load harness: starts the server and api (unless {@code external=true}), warms them up, offers an
+ * open-loop request mix at a fixed rate and prints per-endpoint throughput, latency percentiles, and 429 and error
+ * rates. Arguments are {@code key=value} pairs, see {@link LoadConfig}; run it through
+ * {@code ./gradlew benchmarks:loadTest -PloadArgs="..."} so the boot jars are built and located.
+ */
+public final class LoadHarness {
+
+    private LoadHarness() {}
+
+    public static void main(String[] args) throws Exception {
+        final var config = LoadConfig.parse(args);
+        System.out.printf(
+                "Offering %.1f requests/s for %s after %s warmup, mix %s, seed %d%n",
+                config.rps(), config.duration(), config.warmup(), config.mix(), config.seed());
+
+        // A null resource is skipped by try-with-resources, which is what an external target needs.
+        try (var ignored = config.external() ? null : LocalServices.start(config)) {
+            final var generator = new LoadGenerator(config);
+            generator.seed();
+
+            if (!config.warmup().isZero()) {
+                generator.run(config.warmup(), new LoadReport());
+            }
+
+            final var report = new LoadReport();
+            final long started = System.nanoTime();
+            generator.run(config.duration(), report);
+            final var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            report.print(System.out, elapsed);
+            if (config.report() != null) {
+                report.writeJson(config.report(), config, elapsed);
+                System.out.println("Wrote " + config.report().toAbsolutePath());
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.reliaquest.benchmarks.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-operation outcome counts and latency histograms for one phase of a run.
+ *
+ * <p>Only successful (2xx) responses are recorded in the latency histograms, so fast 429s and errors do not pull the
+ * percentiles down; they are reported as rates instead. Requests not sent because the in-flight cap was reached are
+ * counted as skipped.
+ */
+final class LoadReport {
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    LoadReport() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    void recordResponse(Operation operation, int status, long latencyNanos) {
+        final var operationStats = stats.get(operation);
+        if (status >= 200 && status < 300) {
+            operationStats.ok.increment();
+            operationStats.latency.recordValue(latencyNanos);
+        } else if (status == 429) {
+            operationStats.rateLimited.increment();
+        } else {
+            operationStats.errors.increment();
+        }
+    }
+
+    void recordFailure(Operation operation) {
+        stats.get(operation).errors.increment();
+    }
+
+    void recordSkipped(Operation operation) {
+        stats.get(operation).skipped.increment();
+    }
+
+    void print(PrintStream out, Duration elapsed) {
+        out.printf(
+                "%-8s %9s %9s %9s %9s %9s %9s %8s %8s %8s%n",
+                "op", "requests", "ok/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "429 %", "error %", "skipped");
+        summaries(elapsed).forEach((key, summary) -> out.printf(
+                "%-8s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %8.2f %8.2f %8d%n",
+                key,
+                summary.requests(),
+                summary.okPerSecond(),
+                summary.p50Millis(),
+                summary.p99Millis(),
+                summary.p999Millis(),
+                summary.maxMillis(),
+                summary.rateLimitedPercent(),
+                summary.errorPercent(),
+                summary.skipped()));
+    }
+
+    void writeJson(Path path, LoadConfig config, Duration elapsed) throws IOException {
+        final Map<String, Object> run = new LinkedHashMap<>();
+        run.put("rps", config.rps());
+        run.put("durationSeconds", elapsed.toMillis() / 1000.0);
+        run.put("apiMode", config.apiMode());
+        run.put("rateLimit", config.rateLimit());
+        run.put("rosterSize", config.rosterSize());
+        run.put("seed", config.seed());
+        run.put("operations", summaries(elapsed));
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), run);
+    }
+
+    private Map<String, Summary> summaries(Duration elapsed) {
+        final Map<String, Summary> summaries = new LinkedHashMap<>();
+        final var total = new OperationStats();
+        stats.forEach((operation, operationStats) -> {
+            if (operationStats.requests() + operationStats.skipped.sum() > 0) {
+                summaries.put(operation.key(), operationStats.summarize(elapsed));
+                total.add(operationStats);
+            }
+        });
+        summaries.put("total", total.summarize(elapsed));
+        return summaries;
+    }
+
+    private static final class OperationStats {
+
+        // Auto-resizing, three significant digits.
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder rateLimited = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+
+        long requests() {
+            return ok.sum() + rateLimited.sum() + errors.sum();
+        }
+
+        void add(OperationStats other) {
+            latency.add(other.latency);
+            ok.add(other.ok.sum());
+            rateLimited.add(other.rateLimited.sum());
+            errors.add(other.errors.sum());
+            skipped.add(other.skipped.sum());
+        }
+
+        Summary summarize(Duration elapsed) {
+            final long requests = requests();
+            return new Summary(
+                    requests,
+                    ok.sum() / Math.max(elapsed.toNanos() / 1e9, 1e-9),
+                    millis(latency.getValueAtPercentile(50)),
+                    millis(latency.getValueAtPercentile(99)),
+                    millis(latency.getValueAtPercentile(99.9)),
+                    millis(latency.getMaxValue()),
+                    percent(rateLimited.sum(), requests),
+                    percent(errors.sum(), requests),
+                    skipped.sum());
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+
+        private static double percent(long count, long requests) {
+            return requests == 0 ? 0 : 100.0 * count / requests;
+        }
+    }
+
+    record Summary(
+            long requests,
+            double okPerSecond,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            double rateLimitedPercent,
+            double errorPercent,
+            long skipped) {}
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.benchmarks.load;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the server and api boot jars as child processes and stops them again on {@link #close()}.
+ *
+ * <p>They run as separate JVMs rather than in-process contexts because both modules ship an {@code application.yml}
+ * on the classpath, and because that is how they are deployed. The server must listen on 8112, the address the api
+ * calls; its output goes to {@code server.log} and {@code api.log} in the work directory.
+ */
+final class LocalServices implements AutoCloseable {
+
+    static final int SERVER_PORT = 8112;
+    static final int API_PORT = 8111;
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final List<Process> processes = new ArrayList<>();
+
+    private LocalServices() {}
+
+    static LocalServices start(LoadConfig config) throws IOException, InterruptedException {
+        final var workDir = Path.of(System.getProperty("load.work.dir", "build/load"));
+        Files.createDirectories(workDir);
+        final var services = new LocalServices();
+        try {
+            services.launch(
+                    requiredJar("load.server.jar"),
+                    workDir.resolve("server.log"),
+                    "--server.port=" + SERVER_PORT,
+                    "--mock.employees.max=" + config.rosterSize(),
+                    "--mock.employees.seed=" + config.seed(),
+                    "--mock.rate-limit.mode=" + config.rateLimit(),
+                    "--mock.rate-limit.max-requests=" + config.rateLimitMaxRequests(),
+                    "--mock.rate-limit.backoff=" + config.rateLimitBackoff().toMillis() + "ms");
+            // A plain TCP probe: an HTTP request would spend the server's rate limit budget before the run starts.
+            awaitPortOpen(SERVER_PORT);
+            services.launch(
+                    requiredJar("load.api.jar"),
+                    workDir.resolve("api.log"),
+                    "--server.port=" + API_PORT,
+                    "--api.mode=" + config.apiMode());
+            awaitHealthy(URI.create("http://localhost:" + API_PORT + "/actuator/health"));
+            return services;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            services.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            processes.get(i).destroy();
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+
+    private void launch(Path jar, Path log, String... args) throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(List.of(args));
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start());
+    }
+
+    private static Path requiredJar(String property) {
+        final var jar = System.getProperty(property);
+        if (jar == null || !Files.isRegularFile(Path.of(jar))) {
+            throw new IllegalStateException("System property " + property
+                    + " must point at a boot jar; run the harness through ./gradlew benchmarks:loadTest");
+        }
+        return Path.of(jar);
+    }
+
+    private static void awaitPortOpen(int port) throws InterruptedException {
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try (var socket = new Socket()) {
+                socket.connect(new InetSocketAddress("localhost", port), 1_000);
+                return;
+            } catch (IOException e) {
+                Thread.sleep(250);
+            }
+        }
+        throw new IllegalStateException("Nothing listening on port " + port + " after " + STARTUP_TIMEOUT);
+    }
+
+    private static void awaitHealthy(URI health) throws InterruptedException {
+        final var client = HttpClient.newHttpClient();
+        final var request = HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(1)).build();
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not up yet.
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException(health + " not healthy after " + STARTUP_TIMEOUT);
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.benchmarks.load;
+
+/**
+ * The seven {@code IEmployeeController} endpoints, keyed by the short names used in the {@code mix} argument.
+ */
+enum Operation {
+    GET_ALL_EMPLOYEES("all"),
+    SEARCH_BY_NAME("search"),
+    GET_BY_ID("byId"),
+    HIGHEST_SALARY("highest"),
+    TOP_TEN_NAMES("topTen"),
+    CREATE("create"),
+    DELETE_BY_ID("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "' in mix");
+    }
+}
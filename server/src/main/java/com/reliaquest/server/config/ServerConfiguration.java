@@ -1,21 +1,30 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeGenerator;
+import com.reliaquest.server.service.MockEmployeeJournal;
+import com.reliaquest.server.service.MockEmployeeStore;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -25,35 +34,119 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    @Value("${mock.rate-limit.mode:random}")
+    private String rateLimitMode;
+
+    @Value("${mock.rate-limit.max-requests:10}")
+    private int rateLimitMaxRequests;
+
+    @Value("${mock.rate-limit.backoff:30s}")
+    private Duration rateLimitBackoff;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations. Set mock.employees.seed to get the same roster on every
+     * start, for example to compare load runs. With mock.persistence.enabled the roster is restored from the journal
+     * instead, and only generated when the journal is still empty.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.persistence.checkpoint-interval:5m}") Duration checkpointInterval,
+            ObjectProvider<MockEmployeeJournal> mockEmployeeJournal)
+            throws IOException {
+        final var journal = mockEmployeeJournal.getIfAvailable();
+        if (journal == null) {
+            return new MockEmployeeStore(generateEmployees(maxEmployees, seed));
+        }
+        final var recovered = journal.recover();
+        final var store = recovered.isPresent()
+                ? new MockEmployeeStore(recovered.get().employees(), recovered.get().version(), journal)
+                : new MockEmployeeStore(generateEmployees(maxEmployees, seed), 0, journal);
+        journal.start(store::getVersionedEmployees, checkpointInterval);
+        return store;
+    }
+
+    /*
+     * mock.persistence.segment-size is the size of each memory-mapped region of the log, which also bounds the size of
+     * a single log record.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public MockEmployeeJournal mockEmployeeJournal(
+            @Value("${mock.persistence.directory:data/mock-employees}") String directory,
+            @Value("${mock.persistence.segment-size:16MB}") DataSize segmentSize)
+            throws IOException {
+        return new MockEmployeeJournal(Path.of(directory), Math.toIntExact(segmentSize.toBytes()));
+    }
+
+    /*
+     * Clients that list application/x-jackson-smile in Accept get Jackson Smile instead of JSON, which stays the
+     * default; Smile request bodies are read too. Built from Boot's Jackson builder so it is configured like the JSON
+     * mapper.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder jacksonObjectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                jacksonObjectMapperBuilder.factory(new SmileFactory()).build());
     }
 
+    @Bean
+    public MeterBinder mockEmployeeStoreMetrics(MockEmployeeStore mockEmployeeStore) {
+        return registry -> Gauge.builder("mock.employee.roster.size", mockEmployeeStore, MockEmployeeStore::size)
+                .description("Employees currently held by the mock server")
+                .register(registry);
+    }
+
+    /*
+     * Appends per sync show how many writes share each flush of the journal.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mock.persistence.enabled", havingValue = "true")
+    public MeterBinder mockEmployeeJournalMetrics(MockEmployeeJournal mockEmployeeJournal) {
+        return registry -> {
+            FunctionCounter.builder(
+                            "mock.employee.journal.appends",
+                            mockEmployeeJournal,
+                            MockEmployeeJournal::getAppendCount)
+                    .description("Writes appended to the mock employee journal")
+                    .register(registry);
+            FunctionCounter.builder(
+                            "mock.employee.journal.syncs", mockEmployeeJournal, MockEmployeeJournal::getSyncCount)
+                    .description("Flushes of the mock employee journal made for waiting writers")
+                    .register(registry);
+        };
+    }
+
+    private static List<MockEmployee> generateEmployees(int maxEmployees, Long seed) {
+        final long start = System.nanoTime();
+        final var employees = new MockEmployeeGenerator(Locale.getDefault(), seed).generate(maxEmployees);
+        log.info(
+                "Generated {} mock employees in {} ms{}",
+                employees.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                seed == null ? "" : " from seed " + seed);
+        return employees;
+    }
+
+    /*
+     * mock.rate-limit.mode: random (default) picks the limit and backoff at startup; fixed uses
+     * mock.rate-limit.max-requests and mock.rate-limit.backoff so load runs are reproducible; off disables limiting.
+     */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        switch (rateLimitMode) {
+            case "off" -> log.info("Request rate limiting is disabled");
+            case "fixed" -> registry.addInterceptor(
+                    new RandomRequestLimitInterceptor(rateLimitMaxRequests, rateLimitBackoff));
+            case "random" -> registry.addInterceptor(new RandomRequestLimitInterceptor());
+            default -> throw new IllegalArgumentException("Unknown mock.rate-limit.mode: " + rateLimitMode);
+        }
     }
 }
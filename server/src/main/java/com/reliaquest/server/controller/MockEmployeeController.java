@@ -1,15 +1,27 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.server.model.BatchItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,18 +29,127 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
     private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
 
+    /*
+     * Without limit or cursor the whole roster is returned, as before, with the roster version as a strong ETag; a
+     * request whose If-None-Match still matches gets 304 Not Modified without the roster being listed at all. The body
+     * is JSON or Smile depending on Accept, hence Vary: Accept, and since a strong ETag names one representation the
+     * Smile body gets a tag of its own.
+     * Otherwise a single page is returned and the cursor of the following page, if any, is sent in the X-Next-Cursor
+     * header.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            WebRequest request) {
+        if (limit == null && cursor == null) {
+            final var format = rosterFormat(request.getHeader(HttpHeaders.ACCEPT));
+            if (request.checkNotModified(etagOf(mockEmployeeService.getRosterEtag(), format))) {
+                return null;
+            }
+            final var roster = mockEmployeeService.getMockEmployeeRoster();
+            return ResponseEntity.ok()
+                    .contentType(format)
+                    .eTag(etagOf(roster.etag(), format))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(Response.handledWith(roster.employees()));
+        }
+
+        final int pageLimit = limit == null ? MockEmployeeService.DEFAULT_PAGE_LIMIT : limit;
+        if (pageLimit < 1 || pageLimit > MockEmployeeService.MAX_PAGE_LIMIT) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and " + MockEmployeeService.MAX_PAGE_LIMIT));
+        }
+        final var page = mockEmployeeService.getMockEmployeesPage(cursor, pageLimit);
+        final var response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Selected with Accept: application/x-ndjson. Employees are written one JSON object per line as they are read from
+     * the store, so the body is never built in memory and clients can start parsing before the last line is sent.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees() {
+        final var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> {
+                    final var generator = objectMapper.createGenerator(outputStream);
+                    // Lines are separated explicitly below instead of by Jackson's default root separator (a space).
+                    generator.setRootValueSeparator(null);
+                    try {
+                        mockEmployeeService.forEachMockEmployee(employee -> {
+                            try {
+                                writer.writeValue(generator, employee);
+                                generator.writeRaw('\n');
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                    } catch (UncheckedIOException e) {
+                        throw e.getCause();
+                    }
+                    generator.flush();
+                });
+    }
+
+    /*
+     * Query pushdown: the roster is filtered here, so clients receive only the matches instead of the whole roster.
+     * The name is matched as a substring ignoring case, the salary bounds are inclusive, and omitted criteria are not
+     * applied. Matches are returned in insertion order.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Response<List<MockEmployee>>> searchEmployees(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(name = "minSalary", required = false) Integer minSalary,
+            @RequestParam(name = "maxSalary", required = false) Integer maxSalary) {
+        if (minSalary != null && maxSalary != null && minSalary > maxSalary) {
+            return ResponseEntity.badRequest().body(Response.error("minSalary must not be greater than maxSalary"));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.search(name, minSalary, maxSalary)));
+    }
+
+    /*
+     * The highest salary on the roster, or 0 when no employee has one.
+     */
+    @GetMapping("/highestSalary")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.getHighestSalary().orElse(0));
+    }
+
+    /*
+     * The limit highest earners, highest salary first; equal salaries keep insertion order.
+     */
+    @GetMapping("/topEarners")
+    public ResponseEntity<Response<List<MockEmployee>>> getTopEarners(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MockEmployeeService.MAX_PAGE_LIMIT) {
+            return ResponseEntity.badRequest()
+                    .body(Response.error("limit must be between 1 and " + MockEmployeeService.MAX_PAGE_LIMIT));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getTopEarners(limit)));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +169,110 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Deletes by id with a single keyed removal and returns the deleted employee, so clients that know the id need
+     * neither a lookup first nor a delete by name, which may hit another employee with the same name.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> deleteEmployeeById(@PathVariable("id") UUID uuid) {
+        return mockEmployeeService
+                .deleteById(uuid)
+                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
+    }
+
+    /*
+     * Creates up to MAX_BATCH_SIZE employees in one request and one store write. Inputs are validated one by one: an
+     * invalid input gets an error result and the others are still created. Results are in input order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResult<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MockEmployeeService.MAX_BATCH_SIZE) {
+            return batchTooLarge();
+        }
+        final List<String> errors = inputs.stream().map(this::validationError).collect(Collectors.toList());
+        final var created = mockEmployeeService
+                .createAll(IntStream.range(0, inputs.size())
+                        .filter(i -> errors.get(i) == null)
+                        .mapToObj(inputs::get)
+                        .collect(Collectors.toList()))
+                .iterator();
+        return ResponseEntity.ok(Response.handledWith(errors.stream()
+                .map(error -> error == null
+                        ? BatchItemResult.succeeded(created.next())
+                        : BatchItemResult.<MockEmployee>failed(error))
+                .collect(Collectors.toList())));
+    }
+
+    /*
+     * Deletes up to MAX_BATCH_SIZE employees by id in one request and one store write. Each result holds the deleted
+     * employee, or an error when no employee had that id. Results are in request order.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResult<MockEmployee>>>> deleteEmployees(@RequestBody List<UUID> ids) {
+        if (ids.size() > MockEmployeeService.MAX_BATCH_SIZE) {
+            return batchTooLarge();
+        }
+        final var removed = mockEmployeeService
+                .deleteAllById(ids.stream().filter(Objects::nonNull).collect(Collectors.toList()))
+                .iterator();
+        return ResponseEntity.ok(Response.handledWith(ids.stream()
+                .map(id -> id == null
+                        ? BatchItemResult.<MockEmployee>failed("id must not be null")
+                        : removed.next()
+                                .map(BatchItemResult::succeeded)
+                                .orElseGet(() -> BatchItemResult.failed("Employee not found: " + id)))
+                .collect(Collectors.toList())));
+    }
+
+    private String validationError(CreateMockEmployeeInput input) {
+        if (input == null) {
+            return "input must not be null";
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static <T> ResponseEntity<Response<T>> batchTooLarge() {
+        return ResponseEntity.badRequest()
+                .body(Response.error("at most " + MockEmployeeService.MAX_BATCH_SIZE + " items per batch"));
+    }
+
+    /*
+     * Smile when Accept names it at least as strongly as anything JSON satisfies, JSON otherwise. The format is fixed
+     * here rather than left to the message converters, so the ETag sent always belongs to the body sent.
+     */
+    private static MediaType rosterFormat(String accept) {
+        final List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        double smileQuality = 0;
+        double jsonQuality = 0;
+        for (MediaType type : acceptable) {
+            if (type.equalsTypeAndSubtype(APPLICATION_SMILE)) {
+                smileQuality = Math.max(smileQuality, type.getQualityValue());
+            } else if (type.includes(MediaType.APPLICATION_JSON)) {
+                jsonQuality = Math.max(jsonQuality, type.getQualityValue());
+            }
+        }
+        return smileQuality > 0 && smileQuality >= jsonQuality ? APPLICATION_SMILE : MediaType.APPLICATION_JSON;
+    }
+
+    private static String etagOf(String rosterEtag, MediaType format) {
+        if (!APPLICATION_SMILE.equals(format)) {
+            return rosterEtag;
+        }
+        return rosterEtag.substring(0, rosterEtag.length() - 1) + "-smile\"";
+    }
 }
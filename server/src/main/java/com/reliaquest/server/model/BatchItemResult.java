@@ -0,0 +1,19 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request: the resulting {@code data} on success, otherwise an {@code error}. Batch
+ * responses list one result per requested item, in request order.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult<T>(T data, String error) {
+
+    public static <T> BatchItemResult<T> succeeded(T data) {
+        return new BatchItemResult<>(data, null);
+    }
+
+    public static <T> BatchItemResult<T> failed(String error) {
+        return new BatchItemResult<>(null, error);
+    }
+}
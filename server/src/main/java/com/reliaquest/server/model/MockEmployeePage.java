@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * One page of the employee listing; {@code nextCursor} is {@code null} on the last page.
+ */
+public record MockEmployeePage(List<MockEmployee> employees, String nextCursor) {}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * The full employee listing with the strong entity tag of the roster version it was read at.
+ */
+public record MockEmployeeRoster(List<MockEmployee> employees, String etag) {}
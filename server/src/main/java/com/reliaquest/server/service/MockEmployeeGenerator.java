@@ -0,0 +1,88 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import net.datafaker.Faker;
+
+/**
+ * Generates the startup roster of mock employees in parallel.
+ *
+ * <p>The roster is cut into chunks of {@value #CHUNK_SIZE} employees that are generated concurrently on the common
+ * fork-join pool, each with its own {@link Faker}, since a Faker is not safe for concurrent use. With a seed,
+ * every chunk draws from a {@link Random} derived from the seed and the chunk's position, so the same seed and locale
+ * always yield the same roster, ids included, whatever the number of cores.
+ */
+public class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 4096;
+
+    private final Locale locale;
+    private final Long seed;
+
+    /**
+     * @param seed seed for a reproducible roster, or {@code null} for a different roster on every run
+     */
+    public MockEmployeeGenerator(@NonNull Locale locale, Long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Cannot generate a negative number of employees");
+        }
+        final int chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final List<MockEmployee> employees = new ArrayList<>(count);
+        IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> generateChunk(chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                .collect(Collectors.toList())
+                .forEach(employees::addAll);
+        return employees;
+    }
+
+    private List<MockEmployee> generateChunk(int chunk, int size) {
+        final var random = seed == null ? new Random() : new Random(mix(seed, chunk));
+        final var faker = new Faker(locale, random);
+        final List<MockEmployee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(seed == null ? UUID.randomUUID() : randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build());
+        }
+        return employees;
+    }
+
+    /*
+     * A version 4 UUID drawn from the chunk's seeded random, instead of the SecureRandom behind UUID.randomUUID().
+     */
+    private static UUID randomUuid(Random random) {
+        final long mostSignificant = (random.nextLong() & ~0xF000L) | 0x4000L;
+        final long leastSignificant = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /*
+     * SplitMix64 finalizer, so neighbouring chunks get unrelated Random seeds.
+     */
+    private static long mix(long seed, int chunk) {
+        long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,543 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable {@link MockEmployeeStore.MutationLog} kept in a directory as numbered generations, each a compacted snapshot
+ * of the roster plus a log of the writes made after it.
+ *
+ * <p>The log is written through memory-mapped regions of {@code segmentSize} bytes, so appending a write is a copy into
+ * memory. Each record carries a length and a CRC32, and the log ends at the first empty or damaged record, which drops
+ * a record torn by a crash. Durability is a group commit: a writer waiting in {@link #awaitDurable} either flushes
+ * everything appended so far, including the writes of other threads, or finds its write already flushed by the thread
+ * before it, so concurrent writes share one flush rather than paying for one each.
+ *
+ * <p>A checkpoint starts a new log, writes the roster as a snapshot beside it and then deletes the older generations.
+ * Records carry the store version after their write, so on {@link #recover} the records of the new log that the
+ * snapshot already contains are skipped. A crash before the snapshot is complete leaves the previous generation, whose
+ * snapshot and both logs are replayed instead.
+ *
+ * <p>Employees are encoded with Jackson Smile by a mapper of its own, so web settings never change the file format.
+ * Snapshots are mapped whole when recovered, which limits them to 2 GiB.
+ */
+@Slf4j
+public class MockEmployeeJournal implements MockEmployeeStore.MutationLog, Closeable {
+
+    private static final int LOG_MAGIC = 0x4d454c47;
+    private static final int SNAPSHOT_MAGIC = 0x4d455350;
+    // Magic and segment size at the start of every log.
+    private static final int LOG_HEADER_SIZE = 2 * Integer.BYTES;
+    // Body length and CRC32 ahead of every record body.
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final Pattern GENERATION_FILE = Pattern.compile("(snapshot|log)-(\\d{20})");
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private final Path directory;
+    private final int segmentSize;
+
+    // Guards the log file and the region being appended to.
+    private final ReentrantLock appendLock = new ReentrantLock();
+    // Held by the thread flushing for a group of writers; the others queue behind it.
+    private final ReentrantLock syncLock = new ReentrantLock();
+    // Serializes checkpoints.
+    private final Object checkpointLock = new Object();
+
+    private long generation;
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionFileOffset;
+    // Positions count the bytes of every log of this run, so they keep increasing across regions and checkpoints.
+    private long regionStartPosition;
+    private long checkpointedPosition = -1;
+    private volatile long durablePosition;
+
+    private final AtomicLong appendCount = new AtomicLong();
+    private final AtomicLong syncCount = new AtomicLong();
+
+    private ScheduledExecutorService checkpointExecutor;
+    private Supplier<MockEmployeeStore.Versioned> roster;
+
+    public MockEmployeeJournal(@NonNull Path directory, int segmentSize) throws IOException {
+        if (segmentSize < 4096) {
+            throw new IllegalArgumentException("mock.persistence.segment-size must be at least 4KB");
+        }
+        this.directory = directory.toAbsolutePath();
+        this.segmentSize = segmentSize;
+        Files.createDirectories(this.directory);
+    }
+
+    /**
+     * Loads the latest complete snapshot and replays the logs written since, or returns empty when the directory
+     * holds no generation yet. Must be called before {@link #start}.
+     */
+    public Optional<Recovered> recover() throws IOException {
+        final long started = System.nanoTime();
+        final var snapshots = new TreeMap<Long, Path>();
+        final var logs = new TreeMap<Long, Path>();
+        listGenerations(snapshots, logs);
+        if (snapshots.isEmpty() && logs.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Map<UUID, MockEmployee> employees = new LinkedHashMap<>();
+        long snapshotGeneration = 0;
+        long version = 0;
+        for (var snapshot : snapshots.descendingMap().entrySet()) {
+            try {
+                version = readSnapshot(snapshot.getValue(), employees);
+                snapshotGeneration = snapshot.getKey();
+                break;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable snapshot {}", snapshot.getValue(), e);
+                employees.clear();
+            }
+        }
+        final long snapshotVersion = version;
+        int replayed = 0;
+        for (var entry : logs.tailMap(snapshotGeneration, true).entrySet()) {
+            final var replay = replayLog(entry.getValue(), snapshotVersion, employees);
+            replayed += replay.records();
+            version = Math.max(version, replay.version());
+        }
+        generation = Math.max(
+                snapshots.isEmpty() ? 0 : snapshots.lastKey(), logs.isEmpty() ? 0 : logs.lastKey());
+        log.info(
+                "Recovered {} mock employees from generation {} and {} log records in {} ms",
+                employees.size(),
+                snapshotGeneration,
+                replayed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return Optional.of(new Recovered(new ArrayList<>(employees.values()), version));
+    }
+
+    /**
+     * Checkpoints {@code roster} at once, which opens the log for appends, and again every {@code checkpointInterval}
+     * while writes keep coming.
+     */
+    public void start(@NonNull Supplier<MockEmployeeStore.Versioned> roster, @NonNull Duration checkpointInterval)
+            throws IOException {
+        this.roster = roster;
+        checkpoint(roster);
+        checkpointExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "mock-employee-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long intervalMillis = checkpointInterval.toMillis();
+        checkpointExecutor.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        checkpoint(roster);
+                    } catch (IOException | RuntimeException e) {
+                        log.error("Checkpoint of the mock employee journal at {} failed", directory, e);
+                    }
+                },
+                intervalMillis,
+                intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts a new generation: opens a new log, snapshots {@code roster} and deletes the older generations. Does
+     * nothing if nothing was logged since the last checkpoint.
+     *
+     * <p>{@code roster} is read after the new log is opened, so every write it misses is in the new log.
+     */
+    public void checkpoint(@NonNull Supplier<MockEmployeeStore.Versioned> roster) throws IOException {
+        synchronized (checkpointLock) {
+            final long next;
+            appendLock.lock();
+            try {
+                if (channel != null && regionStartPosition + region.position() == checkpointedPosition) {
+                    return;
+                }
+                next = generation + 1;
+                openLog(next);
+                checkpointedPosition = regionStartPosition + region.position();
+                generation = next;
+            } finally {
+                appendLock.unlock();
+            }
+            final long started = System.nanoTime();
+            final var versioned = roster.get();
+            try {
+                writeSnapshot(next, versioned);
+            } catch (IOException | RuntimeException e) {
+                // The previous snapshot and the logs since stay in place; retry at the next checkpoint.
+                appendLock.lock();
+                try {
+                    checkpointedPosition = -1;
+                } finally {
+                    appendLock.unlock();
+                }
+                throw e;
+            }
+            deleteGenerationsBefore(next);
+            log.info(
+                    "Checkpointed {} mock employees at version {} as generation {} in {} ms",
+                    versioned.employees().size(),
+                    versioned.version(),
+                    next,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        }
+    }
+
+    @Override
+    public long put(long version, @NonNull MockEmployee employee) {
+        try {
+            return append(PUT, version, smileMapper.writeValueAsBytes(employee));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode employee " + employee.getId(), e);
+        }
+    }
+
+    @Override
+    public long remove(long version, @NonNull UUID id) {
+        return append(
+                REMOVE,
+                version,
+                ByteBuffer.allocate(2 * Long.BYTES)
+                        .putLong(id.getMostSignificantBits())
+                        .putLong(id.getLeastSignificantBits())
+                        .array());
+    }
+
+    /**
+     * Flushes the current region from the last durable position to the end of the log, unless a concurrent flush
+     * already covered {@code position}. Earlier regions and logs are flushed when appends move past them.
+     */
+    @Override
+    public void awaitDurable(long position) {
+        if (durablePosition >= position) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durablePosition >= position) {
+                return;
+            }
+            final MappedByteBuffer buffer;
+            final long start;
+            final long end;
+            appendLock.lock();
+            try {
+                buffer = region;
+                start = regionStartPosition;
+                end = start + region.position();
+            } finally {
+                appendLock.unlock();
+            }
+            final int from = (int) Math.max(0, durablePosition - start);
+            buffer.force(from, (int) (end - start) - from);
+            syncCount.incrementAndGet();
+            durablePosition = end;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Writes appended to the log so far.
+     */
+    public long getAppendCount() {
+        return appendCount.get();
+    }
+
+    /**
+     * Flushes made for waiting writers; fewer than appends when writes share flushes.
+     */
+    public long getSyncCount() {
+        return syncCount.get();
+    }
+
+    /**
+     * Stops checkpointing, writes a last checkpoint so the next start replays nothing, and closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        if (checkpointExecutor != null) {
+            checkpointExecutor.shutdownNow();
+        }
+        if (roster != null) {
+            checkpoint(roster);
+        }
+        appendLock.lock();
+        try {
+            if (channel != null) {
+                region.force();
+                channel.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private long append(byte type, long version, byte[] payload) {
+        final int bodySize = 1 + Long.BYTES + payload.length;
+        if (RECORD_HEADER_SIZE + bodySize > segmentSize - LOG_HEADER_SIZE) {
+            throw new IllegalArgumentException("Log record of " + bodySize + " bytes does not fit in a segment");
+        }
+        final var body = ByteBuffer.allocate(bodySize).put(type).putLong(version).put(payload);
+        final var crc = new CRC32();
+        crc.update(body.array());
+        appendLock.lock();
+        try {
+            if (channel == null) {
+                throw new IllegalStateException("Mock employee journal is not started");
+            }
+            if (region.remaining() < RECORD_HEADER_SIZE + bodySize) {
+                nextRegion();
+            }
+            region.putInt(bodySize).putInt((int) crc.getValue()).put(body.array());
+            appendCount.incrementAndGet();
+            return regionStartPosition + region.position();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /*
+     * Callers hold the append lock. The rest of the full region stays zero, which replay reads as its end.
+     */
+    private void nextRegion() {
+        region.force();
+        regionStartPosition += segmentSize;
+        regionFileOffset += segmentSize;
+        try {
+            region = channel.map(FileChannel.MapMode.READ_WRITE, regionFileOffset, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to extend mock employee log in " + directory, e);
+        }
+    }
+
+    /*
+     * Callers hold the append lock. Flushes the log being replaced, so writers waiting on positions in it are covered
+     * by the next flush of the new log.
+     */
+    private void openLog(long logGeneration) throws IOException {
+        final long start = channel == null ? 0 : regionStartPosition + region.position();
+        if (channel != null) {
+            region.force();
+            channel.close();
+        }
+        channel = FileChannel.open(
+                generationFile("log", logGeneration),
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        regionFileOffset = 0;
+        regionStartPosition = start;
+        region = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        region.putInt(LOG_MAGIC).putInt(segmentSize);
+        region.force();
+    }
+
+    /*
+     * Written to a temporary file and moved into place once forced, so a snapshot file is always complete. A trailing
+     * CRC32 of the whole file still guards against damage after that.
+     */
+    private void writeSnapshot(long snapshotGeneration, MockEmployeeStore.Versioned versioned) throws IOException {
+        final var target = generationFile("snapshot", snapshotGeneration);
+        final var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        try (var file = FileChannel.open(
+                temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final var checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(file), 1 << 16), new CRC32());
+            final var out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(versioned.version());
+            out.writeInt(versioned.employees().size());
+            for (MockEmployee employee : versioned.employees()) {
+                final byte[] bytes = smileMapper.writeValueAsBytes(employee);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.flush();
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            file.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long readSnapshot(Path path, Map<UUID, MockEmployee> employees) throws IOException {
+        try (var file = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (file.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " is larger than 2 GiB");
+            }
+            final var buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            final int checksumOffset = buffer.limit() - Long.BYTES;
+            if (checksumOffset < 0) {
+                throw new IOException("Snapshot " + path + " is damaged");
+            }
+            final var crc = new CRC32();
+            crc.update(buffer.slice(0, checksumOffset));
+            if (buffer.getLong(checksumOffset) != crc.getValue()) {
+                throw new IOException("Snapshot " + path + " is damaged");
+            }
+            if (buffer.getInt() != SNAPSHOT_MAGIC) {
+                throw new IOException(path + " is not a mock employee snapshot");
+            }
+            final long version = buffer.getLong();
+            final int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                final var employee = readEmployee(buffer, buffer.getInt());
+                employees.put(employee.getId(), employee);
+            }
+            return version;
+        }
+    }
+
+    /*
+     * Replays the records with a version above snapshotVersion. A replaced employee moves to the end, as it does in
+     * the store.
+     */
+    private Replay replayLog(Path path, long snapshotVersion, Map<UUID, MockEmployee> employees) throws IOException {
+        int records = 0;
+        long version = 0;
+        try (var file = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = file.size();
+            if (size < LOG_HEADER_SIZE) {
+                return new Replay(0, 0);
+            }
+            final var header = file.map(FileChannel.MapMode.READ_ONLY, 0, LOG_HEADER_SIZE);
+            if (header.getInt() != LOG_MAGIC) {
+                throw new IOException(path + " is not a mock employee log");
+            }
+            final int logSegmentSize = header.getInt();
+            for (long offset = 0; offset < size; offset += logSegmentSize) {
+                final var buffer =
+                        file.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(logSegmentSize, size - offset));
+                if (offset == 0) {
+                    buffer.position(LOG_HEADER_SIZE);
+                }
+                final int regionStart = buffer.position();
+                while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                    // Peeked, so a region whose first length is zero is still at regionStart below.
+                    if (buffer.getInt(buffer.position()) == 0) {
+                        break;
+                    }
+                    final int bodySize = buffer.getInt();
+                    final int expectedCrc = buffer.getInt();
+                    if (bodySize < 1 + Long.BYTES || bodySize > buffer.remaining()) {
+                        log.warn("Log {} ends with a damaged record at offset {}", path, offset + buffer.position());
+                        return new Replay(records, version);
+                    }
+                    final var body = buffer.slice(buffer.position(), bodySize);
+                    final var crc = new CRC32();
+                    crc.update(body.duplicate());
+                    if ((int) crc.getValue() != expectedCrc) {
+                        log.warn("Log {} ends with a damaged record at offset {}", path, offset + buffer.position());
+                        return new Replay(records, version);
+                    }
+                    buffer.position(buffer.position() + bodySize);
+                    final byte type = body.get();
+                    final long recordVersion = body.getLong();
+                    version = Math.max(version, recordVersion);
+                    records++;
+                    if (recordVersion > snapshotVersion) {
+                        apply(type, body, employees);
+                    }
+                }
+                // An empty region means the log ended with the one before it.
+                if (buffer.position() == regionStart) {
+                    break;
+                }
+            }
+        }
+        return new Replay(records, version);
+    }
+
+    private void apply(byte type, ByteBuffer body, Map<UUID, MockEmployee> employees) throws IOException {
+        switch (type) {
+            case PUT -> {
+                final var employee = readEmployee(body, body.remaining());
+                employees.remove(employee.getId());
+                employees.put(employee.getId(), employee);
+            }
+            case REMOVE -> employees.remove(new UUID(body.getLong(), body.getLong()));
+            default -> throw new IOException("Unknown mock employee log record type " + type);
+        }
+    }
+
+    private MockEmployee readEmployee(ByteBuffer buffer, int size) throws IOException {
+        if (size < 0 || size > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final byte[] bytes = new byte[size];
+        buffer.get(bytes);
+        return smileMapper.readValue(bytes, MockEmployee.class);
+    }
+
+    private void listGenerations(Map<Long, Path> snapshots, Map<Long, Path> logs) throws IOException {
+        try (var files = Files.list(directory)) {
+            files.forEach(file -> {
+                final var matcher = GENERATION_FILE.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    (matcher.group(1).equals("snapshot") ? snapshots : logs)
+                            .put(Long.parseLong(matcher.group(2)), file);
+                }
+            });
+        }
+    }
+
+    private void deleteGenerationsBefore(long keptGeneration) throws IOException {
+        final var snapshots = new TreeMap<Long, Path>();
+        final var logs = new TreeMap<Long, Path>();
+        listGenerations(snapshots, logs);
+        for (Path file : snapshots.headMap(keptGeneration).values()) {
+            Files.deleteIfExists(file);
+        }
+        for (Path file : logs.headMap(keptGeneration).values()) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private Path generationFile(String kind, long fileGeneration) {
+        return directory.resolve("%s-%020d".formatted(kind, fileGeneration));
+    }
+
+    /**
+     * The roster as of the last durable write: employees in insertion order and the store version to resume from.
+     */
+    public record Recovered(List<MockEmployee> employees, long version) {}
+
+    private record Replay(int records, long version) {}
+}
@@ -4,55 +4,281 @@ import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeePage;
+import com.reliaquest.server.model.MockEmployeeRoster;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+/**
+ * Employee operations backing the mock server's endpoints. Each operation is timed into
+ * {@code mock.employee.operations}, tagged by operation, with a percentile histogram; streaming is timed until the last
+ * employee has been handed on, so it includes writing the response.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private static final int STREAM_CHUNK_SIZE = 512;
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final MockEmployeeStore mockEmployeeStore;
+
+    // Distinguishes roster versions of this run from those of earlier runs, whose rosters were generated afresh.
+    private final String etagPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    private final Timer listTimer;
+    private final Timer pageTimer;
+    private final Timer streamTimer;
+    private final Timer findByIdTimer;
+    private final Timer searchTimer;
+    private final Timer highestSalaryTimer;
+    private final Timer topEarnersTimer;
+    private final Timer createTimer;
+    private final Timer deleteTimer;
+    private final Timer deleteByIdTimer;
+    private final Timer createBatchTimer;
+    private final Timer deleteBatchTimer;
+
+    public MockEmployeeService(
+            @NonNull Faker faker, @NonNull MockEmployeeStore mockEmployeeStore, @NonNull MeterRegistry meterRegistry) {
+        this.faker = faker;
+        this.mockEmployeeStore = mockEmployeeStore;
+        this.listTimer = operationTimer(meterRegistry, "list");
+        this.pageTimer = operationTimer(meterRegistry, "page");
+        this.streamTimer = operationTimer(meterRegistry, "stream");
+        this.findByIdTimer = operationTimer(meterRegistry, "findById");
+        this.searchTimer = operationTimer(meterRegistry, "search");
+        this.highestSalaryTimer = operationTimer(meterRegistry, "highestSalary");
+        this.topEarnersTimer = operationTimer(meterRegistry, "topEarners");
+        this.createTimer = operationTimer(meterRegistry, "create");
+        this.deleteTimer = operationTimer(meterRegistry, "delete");
+        this.deleteByIdTimer = operationTimer(meterRegistry, "deleteById");
+        this.createBatchTimer = operationTimer(meterRegistry, "createBatch");
+        this.deleteBatchTimer = operationTimer(meterRegistry, "deleteBatch");
+    }
+
+    /**
+     * Returns the full listing with the entity tag of its roster version. Every create and delete changes the tag.
+     */
+    public MockEmployeeRoster getMockEmployeeRoster() {
+        return listTimer.record(() -> {
+            final var versioned = mockEmployeeStore.getVersionedEmployees();
+            return new MockEmployeeRoster(versioned.employees(), etagOf(versioned.version()));
+        });
+    }
+
+    /**
+     * Entity tag of the current roster version, without listing the roster.
+     */
+    public String getRosterEtag() {
+        return etagOf(mockEmployeeStore.getVersion());
+    }
+
+    /**
+     * Returns the page following {@code cursor}, or the first page when {@code cursor} is {@code null}.
+     *
+     * @throws IllegalArgumentException if the cursor was not issued by this service
+     */
+    public MockEmployeePage getMockEmployeesPage(String cursor, int limit) {
+        return pageTimer.record(() -> {
+            final var page = mockEmployeeStore.getEmployeesAfter(decodeCursor(cursor), limit);
+            return new MockEmployeePage(page.employees(), page.hasMore() ? encodeCursor(page.lastSequence()) : null);
+        });
+    }
+
+    /**
+     * Hands every employee to {@code action} in insertion order, reading the store in fixed-size chunks so no copy of
+     * the whole roster is made.
+     */
+    public void forEachMockEmployee(@NonNull Consumer<MockEmployee> action) {
+        streamTimer.record(() -> {
+            MockEmployeeStore.Page page;
+            long afterSequence = -1;
+            do {
+                page = mockEmployeeStore.getEmployeesAfter(afterSequence, STREAM_CHUNK_SIZE);
+                page.employees().forEach(action);
+                afterSequence = page.lastSequence();
+            } while (page.hasMore());
+        });
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return findByIdTimer.record(() -> mockEmployeeStore.findById(uuid));
+    }
+
+    /**
+     * Returns, in insertion order, the employees whose name contains {@code nameContains}, ignoring case, and whose
+     * salary lies within {@code minSalary} and {@code maxSalary}, both inclusive. A {@code null} criterion is not
+     * applied.
+     */
+    public List<MockEmployee> search(String nameContains, Integer minSalary, Integer maxSalary) {
+        final Predicate<MockEmployee> matches = employee -> matchesName(employee.getName(), nameContains)
+                && matchesSalary(employee.getSalary(), minSalary, maxSalary);
+        return searchTimer.record(() -> mockEmployeeStore.getEmployeesMatching(matches));
+    }
+
+    public OptionalInt getHighestSalary() {
+        return highestSalaryTimer.record(() -> mockEmployeeStore.getHighestSalary());
+    }
+
+    /**
+     * Returns the {@code limit} highest earners, highest salary first; equal salaries keep insertion order.
+     */
+    public List<MockEmployee> getTopEarners(int limit) {
+        return topEarnersTimer.record(() -> mockEmployeeStore.getTopEarners(limit));
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        return createTimer.record(() -> createMockEmployee(input));
+    }
+
+    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
+        return deleteTimer.record(() -> deleteMockEmployee(input));
+    }
+
+    /**
+     * Removes the employee with the given id, if any, with one keyed removal. Unlike {@link #delete} it never has to
+     * scan for a name, and it cannot remove a different employee that happens to share the name.
+     */
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        return deleteByIdTimer.record(() -> deleteMockEmployeeById(uuid));
+    }
+
+    /**
+     * Creates an employee for each input and adds them all in one store write. Returns them in input order.
+     */
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        return createBatchTimer.record(() -> {
+            final List<MockEmployee> mockEmployees = new ArrayList<>(inputs.size());
+            inputs.forEach(input -> mockEmployees.add(newMockEmployee(input)));
+            mockEmployeeStore.addAll(mockEmployees);
+            log.debug("Added {} employees", mockEmployees.size());
+            return mockEmployees;
+        });
+    }
+
+    /**
+     * Removes the employees with the given ids in one store write. Returns, for each id in order, the removed employee
+     * or empty when there was none with that id.
+     */
+    public List<Optional<MockEmployee>> deleteAllById(@NonNull List<UUID> ids) {
+        return deleteBatchTimer.record(() -> {
+            final var removed = mockEmployeeStore.removeAll(ids);
+            log.debug(
+                    "Removed {} of {} employees",
+                    removed.stream().filter(Optional::isPresent).count(),
+                    ids.size());
+            return removed;
+        });
+    }
+
+    private MockEmployee createMockEmployee(CreateMockEmployeeInput input) {
+        final var mockEmployee = newMockEmployee(input);
+        mockEmployeeStore.add(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
-    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
+    private boolean deleteMockEmployee(DeleteMockEmployeeInput input) {
+        final var mockEmployee = mockEmployeeStore.removeByName(input.getName());
         if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
 
         return false;
     }
+
+    private Optional<MockEmployee> deleteMockEmployeeById(UUID uuid) {
+        final var mockEmployee = mockEmployeeStore.remove(uuid);
+        mockEmployee.ifPresent(removed -> log.debug("Removed employee: {}", removed));
+        return mockEmployee;
+    }
+
+    private MockEmployee newMockEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    /*
+     * Compares in place, so a search allocates nothing per employee scanned.
+     */
+    private static boolean matchesName(String name, String part) {
+        if (part == null) {
+            return true;
+        }
+        if (name == null) {
+            return false;
+        }
+        for (int i = 0; i <= name.length() - part.length(); i++) {
+            if (name.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matchesSalary(Integer salary, Integer minSalary, Integer maxSalary) {
+        if (minSalary == null && maxSalary == null) {
+            return true;
+        }
+        return salary != null
+                && (minSalary == null || salary >= minSalary)
+                && (maxSalary == null || salary <= maxSalary);
+    }
+
+    private String etagOf(long version) {
+        return "\"" + etagPrefix + "-" + version + "\"";
+    }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("mock.employee.operations")
+                .description("Time spent in mock employee operations")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String encodeCursor(long sequence) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null) {
+            return -1;
+        }
+        final long sequence;
+        try {
+            sequence = Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return sequence;
+    }
 }
@@ -0,0 +1,390 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import lombok.NonNull;
+
+/**
+ * Thread-safe in-memory employee store indexed by id and by case-insensitive name. Employees are kept in insertion
+ * order, so listing returns them in the order they were generated or created.
+ *
+ * <p>Lookups by id and by name are lock-free. Mutations are serialized by a write lock so the indexes always change
+ * together, and {@link #getEmployees()} holds the read lock so a listing never observes half of a concurrent write.
+ *
+ * <p>The store also keeps a version that every write which changes its contents increases. Two listings with the same
+ * version are identical, which lets clients revalidate a cached listing instead of downloading it again.
+ *
+ * <p>Employees with a salary are also indexed highest salary first, so the highest salary and the top earners are
+ * read off the head of the index instead of scanning the store.
+ *
+ * <p>Writes can be recorded in a {@link MutationLog}. Each write is logged while the write lock is held, so the log
+ * sees writes in the order they were applied, and the writer then waits for the log to make it durable after releasing
+ * the lock, so concurrent writers can share one flush.
+ */
+public class MockEmployeeStore {
+
+    private static final Comparator<Entry> HIGHEST_SALARY_FIRST = Comparator.comparing(
+                    (Entry entry) -> entry.employee().getSalary(), Comparator.reverseOrder())
+            .thenComparingLong(Entry::sequence);
+
+    private final ConcurrentMap<UUID, Entry> entriesById = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, MockEmployee> employeesBySequence = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, ConcurrentNavigableMap<Long, UUID>> idsByName = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> entriesBySalary = new ConcurrentSkipListSet<>(HIGHEST_SALARY_FIRST);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final MutationLog mutationLog;
+
+    private long nextSequence;
+    // Only written under the write lock; volatile so it can be read without the lock.
+    private volatile long version;
+    // Log position of the last logged write; only used under the write lock.
+    private long loggedPosition;
+
+    public MockEmployeeStore(@NonNull Collection<MockEmployee> employees) {
+        this(employees, 0, MutationLog.NONE);
+    }
+
+    /**
+     * Starts with {@code employees}, which are not logged, at {@code version} or later, and logs every write after
+     * that to {@code mutationLog}. Used to restore a store whose writes were logged before.
+     */
+    public MockEmployeeStore(
+            @NonNull Collection<MockEmployee> employees, long version, @NonNull MutationLog mutationLog) {
+        this.mutationLog = mutationLog;
+        employees.forEach(employee -> Objects.requireNonNull(employee.getId(), "employee id"));
+        lock.writeLock().lock();
+        try {
+            employees.forEach(this::put);
+            this.version = Math.max(this.version, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<MockEmployee> getEmployees() {
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(employeesBySequence.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the listing of {@link #getEmployees()} together with the version it was taken at.
+     */
+    public Versioned getVersionedEmployees() {
+        lock.readLock().lock();
+        try {
+            return new Versioned(version, new ArrayList<>(employeesBySequence.values()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns, in insertion order, the employees accepted by {@code filter}. Holds the read lock like
+     * {@link #getEmployees()}, but only the matches are copied.
+     */
+    public List<MockEmployee> getEmployeesMatching(@NonNull Predicate<MockEmployee> filter) {
+        lock.readLock().lock();
+        try {
+            final List<MockEmployee> matches = new ArrayList<>();
+            for (MockEmployee employee : employeesBySequence.values()) {
+                if (filter.test(employee)) {
+                    matches.add(employee);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest salary, or empty when no employee has one.
+     */
+    public OptionalInt getHighestSalary() {
+        lock.readLock().lock();
+        try {
+            return entriesBySalary.isEmpty()
+                    ? OptionalInt.empty()
+                    : OptionalInt.of(entriesBySalary.first().employee().getSalary());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the {@code limit} highest earners, highest salary first; equal salaries keep insertion order. Employees
+     * without a salary are left out.
+     */
+    public List<MockEmployee> getTopEarners(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            final List<MockEmployee> top = new ArrayList<>(Math.min(limit, entriesBySalary.size()));
+            for (Entry entry : entriesBySalary) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.add(entry.employee());
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} employees added after {@code afterSequence}, in insertion order. Pages are read
+     * without locking; because sequences only grow, walking pages never repeats or skips an employee that stays in the
+     * store, while employees added during the walk show up on a later page.
+     */
+    public Page getEmployeesAfter(long afterSequence, int limit) {
+        final List<MockEmployee> employees = new ArrayList<>(limit);
+        long lastSequence = afterSequence;
+        final var iterator = employeesBySequence.tailMap(afterSequence, false).entrySet().iterator();
+        while (iterator.hasNext() && employees.size() < limit) {
+            final var entry = iterator.next();
+            employees.add(entry.getValue());
+            lastSequence = entry.getKey();
+        }
+        return new Page(employees, lastSequence, iterator.hasNext());
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(entriesById.get(id)).map(Entry::employee);
+    }
+
+    /**
+     * Returns the earliest added employee whose name matches, ignoring case.
+     */
+    public Optional<MockEmployee> findByName(@NonNull String name) {
+        final var ids = idsByName.get(normalize(name));
+        if (ids == null) {
+            return Optional.empty();
+        }
+        final var first = ids.firstEntry();
+        return first == null ? Optional.empty() : findById(first.getValue());
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    public void add(@NonNull MockEmployee employee) {
+        Objects.requireNonNull(employee.getId(), "employee id");
+        final long position;
+        lock.writeLock().lock();
+        try {
+            put(employee);
+            position = logPut(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        mutationLog.awaitDurable(position);
+    }
+
+    /**
+     * Adds all {@code employees} under one write lock, so a listing observes either none or all of them.
+     */
+    public void addAll(@NonNull Collection<MockEmployee> employees) {
+        employees.forEach(employee -> Objects.requireNonNull(employee.getId(), "employee id"));
+        final long position;
+        lock.writeLock().lock();
+        try {
+            for (MockEmployee employee : employees) {
+                put(employee);
+                logPut(employee);
+            }
+            position = loggedPosition;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        mutationLog.awaitDurable(position);
+    }
+
+    public Optional<MockEmployee> remove(@NonNull UUID id) {
+        final Optional<MockEmployee> removed;
+        final long position;
+        lock.writeLock().lock();
+        try {
+            removed = removeLocked(id);
+            position = loggedPosition;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        mutationLog.awaitDurable(position);
+        return removed;
+    }
+
+    /**
+     * Removes the employees with the given ids under one write lock. The result holds, for each id in order, the
+     * removed employee or empty when no employee had that id.
+     */
+    public List<Optional<MockEmployee>> removeAll(@NonNull List<UUID> ids) {
+        final List<Optional<MockEmployee>> removed = new ArrayList<>(ids.size());
+        final long position;
+        lock.writeLock().lock();
+        try {
+            for (UUID id : ids) {
+                removed.add(removeLocked(id));
+            }
+            position = loggedPosition;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        mutationLog.awaitDurable(position);
+        return removed;
+    }
+
+    /**
+     * Atomically finds and removes the earliest added employee whose name matches, ignoring case. Concurrent callers
+     * deleting the same name each remove a different employee.
+     */
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        final Optional<MockEmployee> removed;
+        final long position;
+        lock.writeLock().lock();
+        try {
+            removed = findByName(name).flatMap(employee -> removeLocked(employee.getId()));
+            position = loggedPosition;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        mutationLog.awaitDurable(position);
+        return removed;
+    }
+
+    /*
+     * Callers hold the write lock.
+     */
+    private Optional<MockEmployee> removeLocked(UUID id) {
+        final var entry = entriesById.get(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        unindex(entry);
+        loggedPosition = mutationLog.remove(version, id);
+        return Optional.of(entry.employee());
+    }
+
+    /*
+     * Callers hold the write lock.
+     */
+    private long logPut(MockEmployee employee) {
+        loggedPosition = mutationLog.put(version, employee);
+        return loggedPosition;
+    }
+
+    /*
+     * Callers hold the write lock.
+     */
+    private void put(MockEmployee employee) {
+        final var previous = entriesById.get(employee.getId());
+        if (previous != null) {
+            unindex(previous);
+        }
+        final var entry = new Entry(nextSequence++, employee);
+        version++;
+        entriesById.put(employee.getId(), entry);
+        employeesBySequence.put(entry.sequence(), employee);
+        if (employee.getSalary() != null) {
+            entriesBySalary.add(entry);
+        }
+        if (employee.getName() != null) {
+            idsByName
+                    .computeIfAbsent(normalize(employee.getName()), ignored -> new ConcurrentSkipListMap<>())
+                    .put(entry.sequence(), employee.getId());
+        }
+    }
+
+    /*
+     * Callers hold the write lock. Entries are indexed by id first and unindexed by id last, so a lock-free reader that
+     * follows the name index finds either the employee or nothing, never a stale entry.
+     */
+    private void unindex(Entry entry) {
+        final var employee = entry.employee();
+        if (employee.getName() != null) {
+            idsByName.computeIfPresent(normalize(employee.getName()), (key, ids) -> {
+                ids.remove(entry.sequence());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        if (employee.getSalary() != null) {
+            entriesBySalary.remove(entry);
+        }
+        employeesBySequence.remove(entry.sequence());
+        entriesById.remove(employee.getId());
+        version++;
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    public record Page(List<MockEmployee> employees, long lastSequence, boolean hasMore) {}
+
+    /**
+     * Records the writes of a {@link MockEmployeeStore}. {@link #put} and {@link #remove} are called with the write
+     * lock held, in the order the writes were applied, with the store version after each write; they return a
+     * position that increases with every call. {@link #awaitDurable} is called without the lock.
+     */
+    public interface MutationLog {
+
+        MutationLog NONE = new MutationLog() {
+            @Override
+            public long put(long version, MockEmployee employee) {
+                return 0;
+            }
+
+            @Override
+            public long remove(long version, UUID id) {
+                return 0;
+            }
+
+            @Override
+            public void awaitDurable(long position) {}
+        };
+
+        /**
+         * Records that {@code employee} was added, or replaced the employee with its id.
+         */
+        long put(long version, MockEmployee employee);
+
+        long remove(long version, UUID id);
+
+        /**
+         * Returns once every write logged up to {@code position} survives a crash.
+         */
+        void awaitDurable(long position);
+    }
+
+    public record Versioned(long version, List<MockEmployee> employees) {}
+
+    private record Entry(long sequence, MockEmployee employee) {}
+}
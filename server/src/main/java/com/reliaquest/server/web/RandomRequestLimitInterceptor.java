@@ -12,23 +12,39 @@ import org.springframework.web.servlet.HandlerInterceptor;
 
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    private final int maxRequests;
+    private final Duration backoffDuration;
 
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
 
+    /**
+     * Picks the request limit and backoff at random, so clients cannot rely on a particular budget.
+     */
+    public RandomRequestLimitInterceptor() {
+        this(
+                RandomGenerator.getDefault().nextInt(5, 10),
+                Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90)));
+    }
+
+    /**
+     * Uses a fixed request limit and backoff, so runs that issue requests at the same times see the same 429s.
+     */
+    public RandomRequestLimitInterceptor(int maxRequests, Duration backoffDuration) {
+        this.maxRequests = maxRequests;
+        this.backoffDuration = backoffDuration;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
+        if (requestLimit.get().getCount() >= maxRequests) {
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
+                    .minus(backoffDuration)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 return false;
             }
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
+                    .minus(backoffDuration)
                     .isAfter(requestLimit.get().getLastRequested())) {
                 requestLimit.set(RequestLimit.init());
             }
@@ -0,0 +1,49 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    // Spans a partial last chunk, so chunk boundaries are covered.
+    private static final int COUNT = MockEmployeeGenerator.CHUNK_SIZE * 2 + 17;
+
+    @Test
+    void generate_ShouldProduceRequestedNumberOfCompleteEmployees() {
+        final var employees = new MockEmployeeGenerator(Locale.ROOT, null).generate(COUNT);
+
+        assertEquals(COUNT, employees.size());
+        for (MockEmployee employee : employees) {
+            assertNotNull(employee.getId());
+            assertNotNull(employee.getName());
+            assertTrue(employee.getSalary() >= 30000 && employee.getSalary() < 500000);
+            assertTrue(employee.getAge() >= 16 && employee.getAge() < 70);
+            assertNotNull(employee.getTitle());
+            assertTrue(employee.getEmail().endsWith("@company.com"));
+        }
+        assertEquals(COUNT, employees.stream().map(MockEmployee::getId).collect(Collectors.toSet()).size());
+    }
+
+    @Test
+    void generate_ShouldBeReproducible_WhenSeeded() {
+        final var first = new MockEmployeeGenerator(Locale.ROOT, 42L).generate(COUNT);
+        final var second = new MockEmployeeGenerator(Locale.ROOT, 42L).generate(COUNT);
+        final var other = new MockEmployeeGenerator(Locale.ROOT, 43L).generate(COUNT);
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals(4, first.get(0).getId().version());
+    }
+
+    @Test
+    void generate_ShouldReturnEmptyRoster_WhenCountIsZero() {
+        assertTrue(new MockEmployeeGenerator(Locale.ROOT, 42L).generate(0).isEmpty());
+    }
+}
@@ -0,0 +1,205 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeeJournalTest {
+
+    // Small regions, so the tests cross region boundaries.
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final List<MockEmployeeJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (MockEmployeeJournal journal : journals) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void recover_ShouldBeEmpty_WhenNothingWasJournaled() throws Exception {
+        assertTrue(journal().recover().isEmpty());
+    }
+
+    @Test
+    void recover_ShouldReplayWritesAfterCrash() throws Exception {
+        final var store = startedStore(journal(), List.of(employee("John Doe"), employee("Jane Smith")));
+        final List<MockEmployee> added = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            added.add(employee("employee-" + i));
+            store.add(added.get(i));
+        }
+        for (int i = 0; i < added.size(); i += 3) {
+            store.remove(added.get(i).getId());
+        }
+        store.removeByName("john doe");
+        store.add(added.get(1).toBuilder().name("Renamed").build());
+        final var expected = store.getVersionedEmployees();
+
+        // Not closed: the new journal sees only what the first one made durable.
+        final var recovered = journal().recover().orElseThrow();
+
+        assertEquals(expected.employees(), recovered.employees());
+        assertEquals(expected.version(), recovered.version());
+    }
+
+    @Test
+    void checkpoint_ShouldKeepWritesMadeWhileSnapshotting() throws Exception {
+        final var journal = journal();
+        final var store = startedStore(journal, List.of());
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                writers.add(executor.submit((Callable<Void>) () -> {
+                    for (int i = 0; i < 200; i++) {
+                        final var employee = employee("employee-" + i);
+                        store.add(employee);
+                        if (i % 2 == 0) {
+                            store.remove(employee.getId());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            journal.checkpoint(store::getVersionedEmployees);
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        final var expected = store.getVersionedEmployees();
+
+        final var recovered = journal().recover().orElseThrow();
+
+        assertEquals(expected.employees(), recovered.employees());
+        assertEquals(expected.version(), recovered.version());
+        assertTrue(journal.getSyncCount() <= journal.getAppendCount());
+    }
+
+    @Test
+    void recover_ShouldDropTornRecordAtEndOfLog() throws Exception {
+        final var store = startedStore(journal(), List.of(employee("John Doe")));
+        store.add(employee("Jane Smith"));
+        final var expected = store.getEmployees();
+        store.add(employee("Torn Write"));
+
+        try (var log = FileChannel.open(latestLog(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final var buffer = log.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_SIZE);
+            int last = SEGMENT_SIZE - 1;
+            while (buffer.get(last) == 0) {
+                last--;
+            }
+            buffer.put(last, (byte) ~buffer.get(last));
+            buffer.force();
+        }
+
+        assertEquals(expected, journal().recover().orElseThrow().employees());
+    }
+
+    @Test
+    void recover_ShouldStopAtFirstEmptyRegion(@TempDir Path otherDirectory) throws Exception {
+        final var store = startedStore(journal(), List.of());
+        store.add(employee("John Doe"));
+        final var expected = store.getEmployees();
+        // A valid record from another journal, placed after an empty region where no write can have reached.
+        final var other = new MockEmployeeJournal(otherDirectory, SEGMENT_SIZE);
+        journals.add(other);
+        startedStore(other, List.of()).add(employee("Ghost"));
+        final var record = firstRecord(latestLog(otherDirectory));
+
+        try (var log = FileChannel.open(latestLog(), StandardOpenOption.WRITE)) {
+            log.write(ByteBuffer.wrap(record), 2L * SEGMENT_SIZE);
+        }
+
+        assertEquals(expected, journal().recover().orElseThrow().employees());
+    }
+
+    @Test
+    void close_ShouldCheckpointAndDeleteOlderGenerations() throws Exception {
+        final var journal = journal();
+        final var store = startedStore(journal, List.of(employee("John Doe")));
+        store.add(employee("Jane Smith"));
+        journal.close();
+        journals.remove(journal);
+
+        try (var files = Files.list(directory)) {
+            assertEquals(
+                    List.of("log-00000000000000000002", "snapshot-00000000000000000002"),
+                    files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList()));
+        }
+        assertEquals(store.getEmployees(), journal().recover().orElseThrow().employees());
+    }
+
+    private MockEmployeeJournal journal() throws Exception {
+        final var journal = new MockEmployeeJournal(directory, SEGMENT_SIZE);
+        journals.add(journal);
+        return journal;
+    }
+
+    private static MockEmployeeStore startedStore(MockEmployeeJournal journal, List<MockEmployee> employees)
+            throws Exception {
+        final var store = new MockEmployeeStore(employees, 0, journal);
+        journal.start(store::getVersionedEmployees, Duration.ofHours(1));
+        return store;
+    }
+
+    private Path latestLog() throws Exception {
+        return latestLog(directory);
+    }
+
+    private static Path latestLog(Path directory) throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("log-"))
+                    .max(Path::compareTo)
+                    .orElseThrow();
+        }
+    }
+
+    /*
+     * The first record after the log header: body length, CRC32 and body.
+     */
+    private static byte[] firstRecord(Path log) throws Exception {
+        final var bytes = ByteBuffer.wrap(Files.readAllBytes(log));
+        final int bodySize = bytes.getInt(2 * Integer.BYTES);
+        final var record = new byte[2 * Integer.BYTES + bodySize];
+        bytes.get(2 * Integer.BYTES, record);
+        return record;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50_000)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+}
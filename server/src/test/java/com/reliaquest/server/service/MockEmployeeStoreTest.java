@@ -0,0 +1,280 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+
+class MockEmployeeStoreTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+    private static final int OPERATIONS_PER_THREAD = 2_000;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void store_ShouldKeepInsertionOrderAndIndexes() {
+        final var first = employee("John Doe");
+        final var second = employee("Jane Smith");
+        final var duplicate = employee("JOHN DOE");
+        final var store = new MockEmployeeStore(List.of(first, second, duplicate));
+
+        assertEquals(List.of(first, second, duplicate), store.getEmployees());
+        assertEquals(second, store.findById(second.getId()).orElseThrow());
+        assertEquals(first, store.findByName("john doe").orElseThrow());
+
+        assertEquals(first, store.removeByName("John Doe").orElseThrow());
+        assertEquals(duplicate, store.findByName("john doe").orElseThrow());
+        assertEquals(List.of(second, duplicate), store.getEmployees());
+        assertTrue(store.findById(first.getId()).isEmpty());
+    }
+
+    @Test
+    void batchWrites_ShouldApplyInOrderAndReportMissingIds() {
+        final var existing = employee("John Doe");
+        final var store = new MockEmployeeStore(List.of(existing));
+        final var batch = List.of(employee("Jane Smith"), employee("Jane Doe"));
+
+        store.addAll(batch);
+        assertEquals(List.of(existing, batch.get(0), batch.get(1)), store.getEmployees());
+
+        final var missing = UUID.randomUUID();
+        final var removed = store.removeAll(List.of(batch.get(1).getId(), missing, existing.getId()));
+        assertEquals(List.of(Optional.of(batch.get(1)), Optional.empty(), Optional.of(existing)), removed);
+        assertEquals(List.of(batch.get(0)), store.getEmployees());
+        assertTrue(store.findByName("jane doe").isEmpty());
+    }
+
+    @Test
+    void version_ShouldIncreaseOnlyWhenContentsChange() {
+        final var existing = employee("John Doe");
+        final var store = new MockEmployeeStore(List.of(existing));
+        final var initial = store.getVersionedEmployees();
+        assertEquals(List.of(existing), initial.employees());
+
+        store.remove(UUID.randomUUID());
+        store.removeByName("nobody");
+        assertEquals(initial.version(), store.getVersion());
+
+        final var added = employee("Jane Smith");
+        store.add(added);
+        final var afterAdd = store.getVersion();
+        assertTrue(afterAdd > initial.version());
+
+        store.remove(added.getId());
+        assertTrue(store.getVersion() > afterAdd);
+        assertEquals(initial.employees(), store.getVersionedEmployees().employees());
+    }
+
+    @Test
+    void getEmployeesAfter_ShouldReturnStablePages() {
+        final var employees = IntStream.range(0, 5)
+                .mapToObj(i -> employee("employee-" + i))
+                .collect(Collectors.toList());
+        final var store = new MockEmployeeStore(employees);
+
+        final var first = store.getEmployeesAfter(-1, 2);
+        assertEquals(employees.subList(0, 2), first.employees());
+        assertTrue(first.hasMore());
+
+        // Removing an employee already returned and adding a new one must not shift the following pages.
+        store.remove(employees.get(0).getId());
+        final var added = employee("employee-5");
+        store.add(added);
+
+        final var second = store.getEmployeesAfter(first.lastSequence(), 2);
+        assertEquals(employees.subList(2, 4), second.employees());
+        final var last = store.getEmployeesAfter(second.lastSequence(), 2);
+        assertEquals(List.of(employees.get(4), added), last.employees());
+        assertFalse(last.hasMore());
+    }
+
+    @Test
+    void salaryQueries_ShouldFollowAddsAndRemoves() {
+        final var alice = employee("Alice", 90_000);
+        final var bob = employee("Bob", 120_000);
+        final var carol = employee("Carol", 90_000);
+        final var dan = employee("Dan", null);
+        final var store = new MockEmployeeStore(List.of(alice, bob, carol, dan));
+
+        assertEquals(120_000, store.getHighestSalary().orElseThrow());
+        assertEquals(List.of(bob, alice), store.getTopEarners(2));
+        assertEquals(List.of(bob, alice, carol), store.getTopEarners(10));
+        assertEquals(List.of(), store.getTopEarners(0));
+        assertEquals(
+                List.of(alice, carol, dan),
+                store.getEmployeesMatching(employee -> !employee.getName().startsWith("B")));
+
+        store.remove(bob.getId());
+        final var erin = employee("Erin", 95_000);
+        store.add(erin);
+        assertEquals(95_000, store.getHighestSalary().orElseThrow());
+        assertEquals(List.of(erin, alice, carol), store.getTopEarners(10));
+
+        store.removeAll(List.of(alice.getId(), carol.getId(), erin.getId()));
+        assertTrue(store.getHighestSalary().isEmpty());
+        assertEquals(List.of(), store.getTopEarners(10));
+    }
+
+    @Test
+    void concurrentCreatesAndDeletes_ShouldNotLoseWrites() throws Exception {
+        final var store = new MockEmployeeStore(List.of());
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                store.add(employee("employee-" + thread + "-" + i));
+                if (i % 2 == 1) {
+                    assertTrue(store.removeByName("EMPLOYEE-" + thread + "-" + (i - 1)).isPresent());
+                }
+            }
+        });
+
+        final var employees = store.getEmployees();
+        assertEquals(THREADS * OPERATIONS_PER_THREAD / 2, employees.size());
+        assertEquals(employees.size(), store.size());
+        for (MockEmployee employee : employees) {
+            assertEquals(employee, store.findById(employee.getId()).orElseThrow());
+            assertEquals(employee, store.findByName(employee.getName()).orElseThrow());
+        }
+    }
+
+    @Test
+    void concurrentDeletesOfSameName_ShouldEachRemoveADifferentEmployee() throws Exception {
+        final int duplicates = THREADS * 10;
+        final var store = new MockEmployeeStore(IntStream.range(0, duplicates)
+                .mapToObj(ignored -> employee("John Doe"))
+                .collect(Collectors.toList()));
+        final Set<UUID> removed = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(thread -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                store.removeByName("john doe").ifPresent(employee -> assertTrue(removed.add(employee.getId())));
+            }
+        });
+
+        assertEquals(duplicates, removed.size());
+        assertTrue(store.getEmployees().isEmpty());
+        assertTrue(store.findByName("John Doe").isEmpty());
+    }
+
+    @Test
+    void listing_ShouldBeConsistentWhileWritersMutate() throws Exception {
+        final var store = new MockEmployeeStore(IntStream.range(0, 1_000)
+                .mapToObj(i -> employee("seed-" + i))
+                .collect(Collectors.toList()));
+        final var writer = executor.submit(() -> {
+            for (int i = 0; i < OPERATIONS_PER_THREAD * 5; i++) {
+                final var employee = employee("churn-" + i);
+                store.add(employee);
+                store.remove(employee.getId());
+            }
+            return null;
+        });
+
+        int listings = 0;
+        while (!writer.isDone() || listings == 0) {
+            final var employees = store.getEmployees();
+            // Each write is a single add or remove, so a consistent snapshot holds the seed plus at most one churn.
+            assertTrue(employees.size() == 1_000 || employees.size() == 1_001, "size " + employees.size());
+            assertEquals(employees.size(), new HashSet<>(employees).size());
+            listings++;
+        }
+        writer.get(30, TimeUnit.SECONDS);
+        assertEquals(1_000, store.size());
+    }
+
+    @Test
+    void lookups_ShouldScaleAcrossThreads(TestReporter reporter) throws Exception {
+        final var employees = IntStream.range(0, 50_000)
+                .mapToObj(i -> employee("employee-" + i))
+                .collect(Collectors.toList());
+        final var store = new MockEmployeeStore(employees);
+        final var ids = employees.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+
+        for (int threads = 1; threads <= THREADS; threads *= 2) {
+            final long lookups = (long) threads * OPERATIONS_PER_THREAD * 50;
+            final long started = System.nanoTime();
+            runConcurrently(threads, thread -> {
+                final var random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_THREAD * 50; i++) {
+                    assertFalse(store.findById(ids[random.nextInt(ids.length)]).isEmpty());
+                }
+            });
+            final double seconds = (System.nanoTime() - started) / 1e9;
+            reporter.publishEntry("findById threads=" + threads, "%.0f ops/s".formatted(lookups / seconds));
+        }
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        runConcurrently(THREADS, task);
+    }
+
+    private void runConcurrently(int threads, ThreadTask task) throws Exception {
+        final var start = new CountDownLatch(1);
+        final List<Future<Void>> futures = new ArrayList<>();
+        for (int thread = 0; thread < threads; thread++) {
+            final int threadIndex = thread;
+            final Callable<Void> callable = () -> {
+                start.await();
+                task.run(threadIndex);
+                return null;
+            };
+            futures.add(executor.submit(callable));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return employee(name, 50_000);
+    }
+
+    private static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Engineer")
+                .email("employee@company.com")
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}